@@ -0,0 +1,47 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.UserServiceApplication;
+import com.example.userservice.benchmark.standin.StandInConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application once per benchmark trial against in-process stand-ins:
+ * H2 in MySQL mode (schema and seed data from liquibase), an in-memory verification store
+ * in place of Redis and a {@code MockProducer} in place of the Kafka broker.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return builder(WebApplicationType.NONE).run();
+    }
+
+    /**
+     * Same context served by the embedded Tomcat on a random port, see {@link #port(ConfigurableApplicationContext)}.
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        return builder(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(UserServiceApplication.class, StandInConfiguration.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN");
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.web.dto.requests.NonClientDto;
+
+import java.time.LocalDate;
+
+/**
+ * Request payloads shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String PASSWORD = "Benchmark12!";
+
+    /**
+     * Phone number of a client from the liquibase seed data.
+     */
+    public static final String SEEDED_MOBILE_PHONE = "79370458234";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a valid registration request whose phone, passport number and email are unique for {@code n}.
+     */
+    public static NonClientDto nonClient(long n) {
+        return new NonClientDto(
+                "Ivan",
+                "Petrov",
+                "RUS",
+                String.format("7%010d", n),
+                String.format("bench%d@mail.ru", n),
+                String.format("BM%08d", n),
+                LocalDate.of(2015, 5, 20),
+                "Moscow City",
+                LocalDate.of(2035, 5, 20),
+                LocalDate.of(1990, 1, 1),
+                PASSWORD,
+                "Favourite colour",
+                "Black"
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.app.service.ClientService;
+import com.example.userservice.app.service.LoginService;
+import com.example.userservice.web.dto.requests.LoginRequestDto;
+import com.example.userservice.web.dto.requests.NonClientDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LoginServiceImpl.login} for both login types, including the password check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private LoginService loginService;
+
+    private LoginRequestDto byPhoneNumber;
+
+    private LoginRequestDto byPassportNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        loginService = context.getBean(LoginService.class);
+
+        NonClientDto client = BenchmarkFixtures.nonClient(1);
+        context.getBean(ClientService.class).nonClientRegistration(client);
+
+        byPhoneNumber = new LoginRequestDto(client.getMobilePhone(), BenchmarkFixtures.PASSWORD, "PHONE_NUMBER");
+        byPassportNumber = new LoginRequestDto(client.getPassportNumber(), BenchmarkFixtures.PASSWORD,
+                "PASSPORT_NUMBER");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UUID loginByPhoneNumber() {
+        return loginService.login(byPhoneNumber);
+    }
+
+    @Benchmark
+    public UUID loginByPassportNumber() {
+        return loginService.login(byPassportNumber);
+    }
+}
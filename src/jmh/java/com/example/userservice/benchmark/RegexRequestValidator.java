@@ -0,0 +1,96 @@
+package com.example.userservice.benchmark;
+
+import jakarta.validation.ValidationException;
+
+import java.util.List;
+
+/**
+ * The {@code String.matches} based implementation of {@code RequestValidator} the validation rules replaced,
+ * kept as the baseline for {@link ValidationComparisonBenchmark}.
+ */
+final class RegexRequestValidator {
+
+    private static final String MOBILE_PHONE_REGEX = "\\d+";
+
+    private static final String PASSPORT_NUMBER_REGEX =
+            "([A-Z0-9]*\\d+[A-Z0-9]*(\s|-)?[A-Z0-9]+)|[A-Z]+(\s|-)?[A-Z0-9]*\\d+[A-Z0-9]*";
+
+    private static final String EMAIL_REGEX = "^(?=.{5,30}@)[A-Za-z0-9_]+([A-Za-z0-9_-]+)*(\\.[A-Za-z0-9_-]+)*" +
+            "@[^-]([A-Za-z0-9_-]+)(\\.[A-Za-z]+)*(\\.[A-Za-z]{2,3})$";
+
+    private static final String EMAIL_AFTERAT_REGEX = "^[a-zA-Z]+(\\.[a-zA-Z]+)*$";
+
+    private static final String PASSWORD_ALLOWED_SYMBOLS = "[a-zA-Z0-9]+[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~a-zA-Z0-9]*";
+
+    private static final List<String> PASSWORD_SYMBOLS_GROUP = List.of(
+            ".*[a-z].*", ".*[A-Z].*", ".*[0-9].*", ".*[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~].*");
+
+    private RegexRequestValidator() {
+    }
+
+    static String mobilePhoneValidate(String mobilePhone) {
+        String newMobilePhone = mobilePhone.replace(" ", "");
+        if (!newMobilePhone.matches(MOBILE_PHONE_REGEX)) {
+            throw new ValidationException("A phone number can only contain numbers");
+        }
+        if (!newMobilePhone.startsWith("7") && !newMobilePhone.startsWith("8") || newMobilePhone.length() != 11) {
+            throw new ValidationException("The length of the phone number must be 11 characters");
+        }
+        if (newMobilePhone.startsWith("8")) {
+            newMobilePhone = new StringBuilder(newMobilePhone).replace(0, 1, "7").toString();
+        }
+        return newMobilePhone;
+    }
+
+    static String passportNumberValidate(String passportNumber) {
+        if (!passportNumber.matches(PASSPORT_NUMBER_REGEX)) {
+            throw new ValidationException("Incorrect passport number: " + passportNumber);
+        }
+        passportNumber = passportNumber.replace(" ", "");
+        passportNumber = passportNumber.replace("-", "");
+        if (passportNumber.length() < 6 || passportNumber.length() > 10) {
+            throw new ValidationException("Incorrect passport number: " + passportNumber);
+        }
+        return passportNumber;
+    }
+
+    static String passwordValidate(String password) {
+        if (password.length() < 6 || password.length() > 20 || !password.matches(PASSWORD_ALLOWED_SYMBOLS)) {
+            throw new ValidationException("The new password must be no shorter than 6 characters and " +
+                    "no longer than 20 characters");
+        }
+        int numberOfContainedSymbolGroups = 0;
+        for (String symbolGroup : PASSWORD_SYMBOLS_GROUP) {
+            if (password.matches(symbolGroup)) {
+                numberOfContainedSymbolGroups++;
+            }
+        }
+        if (numberOfContainedSymbolGroups < 3) {
+            throw new ValidationException("The new password must contain at least 3 symbol groups");
+        }
+        return password;
+    }
+
+    static String verificationCodeValidate(String verificationCode) {
+        String newVerificationCode = verificationCode.replace(" ", "");
+        if (!newVerificationCode.matches("\\d{6}")) {
+            throw new ValidationException("A verification code must consist of 6 digits: " + newVerificationCode);
+        }
+        return newVerificationCode;
+    }
+
+    static String emailValidate(String email) {
+        if (!email.matches(EMAIL_REGEX)) {
+            throw new ValidationException("Incorrect email: " + email);
+        }
+        String[] mas = email.split("@");
+        String afterAt = mas[1];
+        String beforeAt = mas[0];
+        if (beforeAt.equalsIgnoreCase("admin")
+                || (afterAt.length() > 19 || afterAt.length() < 5)
+                || !afterAt.matches(EMAIL_AFTERAT_REGEX)) {
+            throw new ValidationException("Incorrect email: " + email);
+        }
+        return email;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.web.dto.requests.NonClientDto;
+import com.example.userservice.web.util.RequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RequestValidator.*Validate} on valid input, the common case on login and registration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestValidatorBenchmark {
+
+    private final NonClientDto nonClientDto = BenchmarkFixtures.nonClient(1);
+
+    @Benchmark
+    public String mobilePhoneValidate() {
+        return RequestValidator.mobilePhoneValidate("8 937 045 82 34");
+    }
+
+    @Benchmark
+    public String passportNumberValidate() {
+        return RequestValidator.passportNumberValidate("AB 1234567");
+    }
+
+    @Benchmark
+    public String passwordValidate() {
+        return RequestValidator.passwordValidate("Benchmark12!");
+    }
+
+    @Benchmark
+    public String emailValidate() {
+        return RequestValidator.emailValidate("t.andreeva@mail.ru");
+    }
+
+    @Benchmark
+    public String verificationCodeValidate() {
+        return RequestValidator.verificationCodeValidate("123 456");
+    }
+
+    @Benchmark
+    public NonClientDto nonClientDtoValidate() {
+        RequestValidator.nonClientDtoValidate(nonClientDto);
+        return nonClientDto;
+    }
+}
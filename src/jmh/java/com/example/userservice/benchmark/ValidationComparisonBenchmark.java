@@ -0,0 +1,73 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.web.util.RequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RequestValidator} on the validation rules against the previous {@code String.matches} implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationComparisonBenchmark {
+
+    @Param({"rules", "regex"})
+    private String implementation;
+
+    private boolean rules;
+
+    @Setup
+    public void setUp() {
+        rules = "rules".equals(implementation);
+    }
+
+    @Benchmark
+    public String mobilePhone() {
+        return rules
+                ? RequestValidator.mobilePhoneValidate("8 937 045 82 34")
+                : RegexRequestValidator.mobilePhoneValidate("8 937 045 82 34");
+    }
+
+    @Benchmark
+    public String passportNumber() {
+        return rules
+                ? RequestValidator.passportNumberValidate("AB 1234567")
+                : RegexRequestValidator.passportNumberValidate("AB 1234567");
+    }
+
+    @Benchmark
+    public String password() {
+        return rules
+                ? RequestValidator.passwordValidate("Benchmark12!")
+                : RegexRequestValidator.passwordValidate("Benchmark12!");
+    }
+
+    @Benchmark
+    public String email() {
+        return rules
+                ? RequestValidator.emailValidate("t.andreeva@mail.ru")
+                : RegexRequestValidator.emailValidate("t.andreeva@mail.ru");
+    }
+
+    @Benchmark
+    public String verificationCode() {
+        return rules
+                ? RequestValidator.verificationCodeValidate("123 456")
+                : RegexRequestValidator.verificationCodeValidate("123 456");
+    }
+}
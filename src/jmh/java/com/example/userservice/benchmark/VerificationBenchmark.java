@@ -0,0 +1,63 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.app.service.VerificationService;
+import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.repository.VerificationRepository;
+import com.example.userservice.web.dto.responses.AuthResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Successful {@code VerificationServiceImpl.verifyByMobilePhoneAndVerificationCodeWithAuth}:
+ * every invocation stores a pending code and then verifies it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VerificationBenchmark {
+
+    private static final String CODE = "123456";
+
+    private ConfigurableApplicationContext context;
+
+    private VerificationService verificationService;
+
+    private VerificationRepository verificationRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        verificationService = context.getBean(VerificationService.class);
+        verificationRepository = context.getBean(VerificationRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuthResponseDto verifyByMobilePhoneWithAuth() {
+        verificationRepository.save(new Verification(
+                BenchmarkFixtures.SEEDED_MOBILE_PHONE, CODE, null, 0, LocalDateTime.now().plusMinutes(5)));
+        return verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth(
+                BenchmarkFixtures.SEEDED_MOBILE_PHONE, CODE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.app.service.codegeneration.VerificationCodeGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Six-digit verification codes from 64 concurrent callers: the buffered {@code VerificationCodeGenerator}
+ * against a shared DRBG {@code SecureRandom} called on the request thread and the previous
+ * {@code RandomStringUtils.randomNumeric}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class VerificationCodeGeneratorBenchmark {
+
+    private VerificationCodeGenerator generator;
+
+    private SecureRandom secureRandom;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        generator = new VerificationCodeGenerator(new SimpleMeterRegistry(), 6, 1024);
+        secureRandom = SecureRandom.getInstance("DRBG");
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.shutdown();
+    }
+
+    @Benchmark
+    public String bufferedSecureRandom() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String sharedSecureRandom() {
+        return String.format("%06d", secureRandom.nextInt(1_000_000));
+    }
+
+    @Benchmark
+    public String randomStringUtils() {
+        return RandomStringUtils.randomNumeric(6);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.userservice.benchmark;
+
+import com.example.userservice.persistence.config.RedisConfig;
+import com.example.userservice.persistence.config.RedisProperties;
+import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.repository.RedisVerificationRepository;
+import io.lettuce.core.resource.ClientResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RedisVerificationRepository} reads: one pipeline for all phones against a {@code findById} per phone
+ * (the way {@code findAll} read the codes before), and the SCAN based {@code findAll}.
+ * <p>
+ * Unlike the other benchmarks this one needs a real Redis, taken from the REDIS_HOST and REDIS_PORT
+ * environment variables (localhost:6379 by default), with the connection pool from {@code RedisConfig}.
+ * Use an empty database: {@code findAll} scans all of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerificationRepositoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private ClientResources clientResources;
+
+    private RedisVerificationRepository verificationRepository;
+
+    private List<String> mobilePhones;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost(System.getenv().getOrDefault("REDIS_HOST", "localhost"));
+        redisProperties.setPort(Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        clientResources = ClientResources.create();
+        connectionFactory = new RedisConfig().redisConnectionFactory(redisProperties, clientResources, 16, 16, 2);
+        connectionFactory.afterPropertiesSet();
+        verificationRepository = new RedisVerificationRepository(new StringRedisTemplate(connectionFactory));
+
+        mobilePhones = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String mobilePhone = String.valueOf(79_000_000_000L + i);
+            verificationRepository.saveCode(mobilePhone, "123456", Duration.ofHours(1));
+            mobilePhones.add(mobilePhone);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mobilePhones.forEach(verificationRepository::deleteById);
+        connectionFactory.destroy();
+        clientResources.shutdown();
+    }
+
+    @Benchmark
+    public List<Verification> findByIdPerPhone() {
+        List<Verification> verifications = new ArrayList<>(size);
+        for (String mobilePhone : mobilePhones) {
+            Optional<Verification> verification = verificationRepository.findById(mobilePhone);
+            verification.ifPresent(verifications::add);
+        }
+        return verifications;
+    }
+
+    @Benchmark
+    public List<Verification> findAllByIdPipelined() {
+        return verificationRepository.findAllById(mobilePhones);
+    }
+
+    @Benchmark
+    public List<Verification> findAllScan() {
+        return verificationRepository.findAll();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.userservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/v1/users/info} over HTTP from 400 concurrent clients, Tomcat on platform threads
+ * (server.tomcat.threads.max = 200) against virtual threads. Every request waits ioLatency ms in
+ * {@code IoLatencyFilter} before the (cached) user info lookup, so with platform threads requests queue for a free
+ * worker once the pool is busy; throughput and the sampled p99/p999 show the difference.
+ * The virtual variant needs a Java 21 JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(400)
+@Fork(1)
+public class WebThreadingBenchmark {
+
+    private static final String SEEDED_CLIENT_ID = "61f0c404-5cb3-11e7-907b-a6006ad3dba0";
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"20"})
+    private long ioLatency;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest userInfoRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+        context = BenchmarkContext.startWeb(
+                "spring.threads.virtual.enabled=" + virtual,
+                "server.tomcat.threads.max=200",
+                "benchmark.ioLatency=" + ioLatency);
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        userInfoRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + BenchmarkContext.port(context) + "/api/v1/users/info"))
+                .header("ClientId", SEEDED_CLIENT_ID)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String userInfo() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(userInfoRequest, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/v1/users/info answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.userservice.benchmark.standin;
+
+import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.projection.VerificationAttempt;
+import com.example.userservice.persistence.repository.VerificationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map backed stand-in for the Redis verification store. Expired codes and blocks are dropped when they are read,
+ * which matches what the caller observes with Redis key TTLs.
+ */
+public class InMemoryVerificationRepository implements VerificationRepository {
+
+    private final Map<String, Verification> store = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Verification> findById(String mobilePhone) {
+        return Optional.ofNullable(store.computeIfPresent(mobilePhone, (id, verification) ->
+                expire(verification, LocalDateTime.now())));
+    }
+
+    @Override
+    public List<Verification> findAllById(Collection<String> mobilePhones) {
+        List<Verification> result = new ArrayList<>(mobilePhones.size());
+        mobilePhones.forEach(mobilePhone -> findById(mobilePhone).ifPresent(result::add));
+        return result;
+    }
+
+    @Override
+    public List<Verification> findAll() {
+        return findAllById(new ArrayList<>(store.keySet()));
+    }
+
+    @Override
+    public Verification save(Verification verification) {
+        store.put(verification.getMobilePhone(), copy(verification));
+        return verification;
+    }
+
+    @Override
+    public void deleteById(String mobilePhone) {
+        store.remove(mobilePhone);
+    }
+
+    @Override
+    public Optional<Duration> saveCode(String mobilePhone, String code, Duration lifetime) {
+        Duration[] blocked = new Duration[1];
+        store.compute(mobilePhone, (id, current) -> {
+            LocalDateTime now = LocalDateTime.now();
+            Verification verification = current == null ? null : expire(current, now);
+            if (verification != null && verification.getBlockExpiration() != null) {
+                blocked[0] = Duration.between(now, verification.getBlockExpiration());
+                return verification;
+            }
+            int attempts = verification == null || verification.getVerificationAttempts() == null
+                    ? 0 : verification.getVerificationAttempts();
+            return new Verification(id, code, null, attempts, now.plus(lifetime));
+        });
+        return Optional.ofNullable(blocked[0]);
+    }
+
+    @Override
+    public VerificationAttempt attempt(String mobilePhone, String code, int maxAttempts, Duration blockingTime) {
+        VerificationAttempt[] result = new VerificationAttempt[1];
+        store.computeIfPresent(mobilePhone, (id, current) -> {
+            LocalDateTime now = LocalDateTime.now();
+            Verification verification = expire(current, now);
+            if (verification == null) {
+                return null;
+            }
+            if (verification.getBlockExpiration() != null) {
+                result[0] = attempt(VerificationAttempt.Status.BLOCKED, verification.getBlockExpiration());
+                return verification;
+            }
+            if (verification.getVerificationCode() == null) {
+                return verification;
+            }
+            verification.setVerificationAttempts(verification.getVerificationAttempts() + 1);
+            if (code.equals(verification.getVerificationCode())) {
+                result[0] = attempt(VerificationAttempt.Status.MATCHED, null);
+                return null;
+            }
+            if (verification.getVerificationAttempts() >= maxAttempts) {
+                LocalDateTime blockExpiration = now.plus(blockingTime);
+                result[0] = attempt(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED, blockExpiration);
+                return new Verification(id, null, blockExpiration, null, null);
+            }
+            result[0] = attempt(VerificationAttempt.Status.WRONG_CODE, null);
+            return verification;
+        });
+        return result[0] != null ? result[0] : attempt(VerificationAttempt.Status.NOT_FOUND, null);
+    }
+
+    private static Verification expire(Verification verification, LocalDateTime now) {
+        if (verification.getBlockExpiration() != null && !verification.getBlockExpiration().isAfter(now)) {
+            verification.setBlockExpiration(null);
+        }
+        if (verification.getCodeLifetime() != null && !verification.getCodeLifetime().isAfter(now)) {
+            verification.setVerificationCode(null);
+            verification.setVerificationAttempts(null);
+            verification.setCodeLifetime(null);
+        }
+        return verification.getBlockExpiration() == null && verification.getVerificationCode() == null
+                ? null : verification;
+    }
+
+    private static Verification copy(Verification verification) {
+        return new Verification(verification.getMobilePhone(), verification.getVerificationCode(),
+                verification.getBlockExpiration(), verification.getVerificationAttempts(),
+                verification.getCodeLifetime());
+    }
+
+    private static VerificationAttempt attempt(VerificationAttempt.Status status, LocalDateTime blockExpiration) {
+        return new VerificationAttempt(status, blockExpiration);
+    }
+}
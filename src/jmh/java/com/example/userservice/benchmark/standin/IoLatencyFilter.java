@@ -0,0 +1,35 @@
+package com.example.userservice.benchmark.standin;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Holds every request for a fixed time before it reaches the controller, standing in for the Redis, Feign
+ * and database round trips that the in-process stand-ins answer instantly. The request thread sleeps,
+ * so a platform thread stays occupied while a virtual thread is unmounted, as with real blocking I/O.
+ */
+public class IoLatencyFilter extends OncePerRequestFilter {
+
+    private final long latencyMillis;
+
+    public IoLatencyFilter(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+        chain.doFilter(request, response);
+    }
+}
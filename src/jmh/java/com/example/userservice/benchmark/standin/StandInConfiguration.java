@@ -0,0 +1,60 @@
+package com.example.userservice.benchmark.standin;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Replaces the external infrastructure with in-process stand-ins for benchmarks.
+ */
+@Configuration
+public class StandInConfiguration {
+
+    @Bean
+    @Primary
+    public InMemoryVerificationRepository inMemoryVerificationRepository() {
+        return new InMemoryVerificationRepository();
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, RegisterUserDto> mockRegisterUserProducerTemplate() {
+        MockProducer<String, RegisterUserDto> producer =
+                new MockProducer<>(true, new StringSerializer(), (topic, data) -> new byte[0]);
+        return new KafkaTemplate<>(() -> producer);
+    }
+
+    /**
+     * Listener containers are never started, there is no broker to poll.
+     */
+    @Bean
+    public static BeanPostProcessor disableKafkaListeners() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    factory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Only for web benchmarks that set benchmark.ioLatency (ms).
+     */
+    @Bean
+    @ConditionalOnProperty("benchmark.ioLatency")
+    public FilterRegistrationBean<IoLatencyFilter> ioLatencyFilter(@Value("${benchmark.ioLatency}") long latencyMillis) {
+        return new FilterRegistrationBean<>(new IoLatencyFilter(latencyMillis));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.userservice.app.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * ServiceMetricsAspect aspect responsible for timing the public methods of the service implementations.
+ * <p>
+ * Every call is recorded in the {@code service.method} timer tagged with the class and method name and the simple
+ * name of the thrown exception ({@code none} on success). Tags are taken from the code only, never from the
+ * arguments, so phone numbers and client ids do not end up as tag values and the number of series stays bounded.
+ */
+@Component
+@Aspect
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String TIMER_NAME = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Advice for timing a public method of a class in {@code com.example.userservice.app.service.impl}
+     *
+     * @param joinPoint the {@code ProceedingJoinPoint} of the timed method
+     * @return the result of the method
+     */
+    @Around("execution(public * com.example.userservice.app.service.impl..*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
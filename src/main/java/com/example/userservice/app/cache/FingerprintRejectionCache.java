@@ -0,0 +1,66 @@
+package com.example.userservice.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Short-lived in-process cache of rejected fingerprint logins, so a client repeating a wrong fingerprint or
+ * a caller trying client ids without a fingerprint is answered without a database query.
+ * <p>
+ * Two kinds of entries are kept for {@code ttl} seconds: a client id without a stored fingerprint, and a pair
+ * of a client id and the hash of a wrong fingerprint. Only hashes are kept, never the fingerprints themselves.
+ * Saving a fingerprint evicts both entries it could make stale on this instance; other instances may keep
+ * rejecting the new fingerprint until their entries expire.
+ */
+@Component
+public class FingerprintRejectionCache {
+
+    private static final String CACHE_NAME = "fingerprint-rejections";
+    private static final char SEPARATOR = ':';
+
+    private final Cache<String, Boolean> rejections;
+
+    public FingerprintRejectionCache(MeterRegistry meterRegistry,
+                                     @Value("${app.param.fingerprint.rejectionCacheMaximumSize:100000}") long maximumSize,
+                                     @Value("${app.param.fingerprint.rejectionCacheTtl:30}") long ttlSeconds) {
+        this.rejections = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, rejections, CACHE_NAME);
+    }
+
+    public boolean isRejected(UUID clientId, String fingerprintHash) {
+        return rejections.getIfPresent(clientId.toString()) != null
+                || rejections.getIfPresent(key(clientId, fingerprintHash)) != null;
+    }
+
+    public void rejectClient(UUID clientId) {
+        rejections.put(clientId.toString(), Boolean.TRUE);
+    }
+
+    public void rejectFingerprint(UUID clientId, String fingerprintHash) {
+        rejections.put(key(clientId, fingerprintHash), Boolean.TRUE);
+    }
+
+    /**
+     * Forgets the rejections the newly saved fingerprint of the client would otherwise hit
+     */
+    public void evict(UUID clientId, String fingerprintHash) {
+        rejections.invalidate(clientId.toString());
+        rejections.invalidate(key(clientId, fingerprintHash));
+    }
+
+    private static String key(UUID clientId, String fingerprintHash) {
+        return clientId.toString() + SEPARATOR + fingerprintHash;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.userservice.app.cache;
+
+import com.example.userservice.web.dto.responses.RegistrationInfoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Two-level read-through cache of {@link RegistrationInfoDTO} keyed by the normalized mobile phone.
+ * <p>
+ * The first level is an in-process Caffeine cache with a short TTL, the second one is Redis, shared by all
+ * instances. Invalidation removes the phone from both levels, once immediately and once more after the
+ * surrounding transaction commits, so a concurrent reader cannot put the old state back. Other instances
+ * may serve their near copy until it expires. Redis errors never fail a request: the cache falls back to
+ * the database and leaves Redis alone for {@code redisRetryDelay} seconds.
+ */
+@Slf4j
+@Component
+public class RegistrationInfoCache {
+
+    private static final String CACHE_NAME = "registration-info";
+    private static final String KEY_PREFIX = CACHE_NAME + ":";
+    private static final char SEPARATOR = ':';
+
+    private final Cache<String, Entry> nearCache;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration redisTtl;
+    private final long redisRetryDelayMillis;
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final Counter invalidations;
+
+    private volatile long redisDisabledUntil;
+
+    public RegistrationInfoCache(StringRedisTemplate redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.param.registrationInfoCache.nearMaximumSize:10000}") long nearMaximumSize,
+                                 @Value("${app.param.registrationInfoCache.nearTtl:5}") long nearTtlSeconds,
+                                 @Value("${app.param.registrationInfoCache.redisTtl:60}") long redisTtlSeconds,
+                                 @Value("${app.param.registrationInfoCache.redisRetryDelay:30}") long redisRetryDelaySeconds) {
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.redisRetryDelayMillis = Duration.ofSeconds(redisRetryDelaySeconds).toMillis();
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, CACHE_NAME);
+        this.redisHits = redisCounter(meterRegistry, "hit");
+        this.redisMisses = redisCounter(meterRegistry, "miss");
+        this.redisErrors = redisCounter(meterRegistry, "error");
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached registration info of the phone, loading it with {@code loader} on a miss of both levels.
+     */
+    public RegistrationInfoDTO get(String mobilePhone, Function<String, RegistrationInfoDTO> loader) {
+        Entry entry = nearCache.get(mobilePhone, phone -> {
+            Entry shared = readShared(phone);
+            if (shared != null) {
+                return shared;
+            }
+            Entry loaded = Entry.of(loader.apply(phone));
+            writeShared(phone, loaded);
+            return loaded;
+        });
+        return entry.toDto(mobilePhone);
+    }
+
+    public void evict(String mobilePhone) {
+        if (mobilePhone == null) {
+            return;
+        }
+        invalidations.increment();
+        remove(mobilePhone);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(mobilePhone);
+                }
+            });
+        }
+    }
+
+    private void remove(String mobilePhone) {
+        nearCache.invalidate(mobilePhone);
+        if (redisAvailable()) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + mobilePhone);
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+    }
+
+    private Entry readShared(String mobilePhone) {
+        if (!redisAvailable()) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + mobilePhone);
+            if (value == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return Entry.parse(value);
+        } catch (RuntimeException e) {
+            redisFailed(e);
+            return null;
+        }
+    }
+
+    private void writeShared(String mobilePhone, Entry entry) {
+        if (!redisAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + mobilePhone, entry.format(), redisTtl);
+        } catch (RuntimeException e) {
+            redisFailed(e);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return System.currentTimeMillis() >= redisDisabledUntil;
+    }
+
+    private void redisFailed(RuntimeException e) {
+        redisErrors.increment();
+        redisDisabledUntil = System.currentTimeMillis() + redisRetryDelayMillis;
+        log.warn("Redis is unavailable for the registration info cache, using the database only: {}",
+                e.getMessage());
+    }
+
+    private static Counter redisCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.redis.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(String clientStatus, String clientId) {
+
+        static Entry of(RegistrationInfoDTO dto) {
+            return new Entry(dto.getClientStatus(), dto.getClientId());
+        }
+
+        static Entry parse(String value) {
+            int separator = value.indexOf(SEPARATOR);
+            return separator < 0
+                    ? new Entry(value, null)
+                    : new Entry(value.substring(0, separator), value.substring(separator + 1));
+        }
+
+        String format() {
+            return clientId == null ? clientStatus : clientStatus + SEPARATOR + clientId;
+        }
+
+        RegistrationInfoDTO toDto(String mobilePhone) {
+            RegistrationInfoDTO dto = new RegistrationInfoDTO(mobilePhone, clientStatus);
+            dto.setClientId(clientId);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userservice.app.cache;
+
+import com.example.userservice.persistence.projection.UserInfoView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process read-through cache of {@link UserInfoView} keyed by the client id.
+ * <p>
+ * Invalidation removes the client once immediately and once more after the surrounding transaction commits,
+ * so a concurrent reader cannot put the old state back. Other instances serve their copy until it expires
+ * after {@code ttl} seconds. Missing clients are not cached.
+ */
+@Component
+public class UserInfoCache {
+
+    private static final String CACHE_NAME = "user-info";
+
+    private final Cache<UUID, UserInfoView> cache;
+    private final Counter invalidations;
+
+    public UserInfoCache(MeterRegistry meterRegistry,
+                         @Value("${app.param.userInfoCache.maximumSize:10000}") long maximumSize,
+                         @Value("${app.param.userInfoCache.ttl:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached user info of the client, loading it with {@code loader} on a miss.
+     */
+    public UserInfoView get(UUID clientId, Function<UUID, UserInfoView> loader) {
+        return cache.get(clientId, loader);
+    }
+
+    public void evict(UUID clientId) {
+        if (clientId == null) {
+            return;
+        }
+        invalidations.increment();
+        cache.invalidate(clientId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(clientId);
+                }
+            });
+        }
+    }
+}
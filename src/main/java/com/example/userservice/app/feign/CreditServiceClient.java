@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.UUID;
 
-@FeignClient(name = "credit-service", url = "http://localhost:8083/credit/api/v1")
+@FeignClient(name = "credit-service", url = "${app.param.productCheck.creditServiceUrl:http://localhost:8083/credit/api/v1}")
 public interface CreditServiceClient {
 
     @GetMapping("/credits")
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.UUID;
 
-@FeignClient(name = "deposit-service", url = "http://localhost:8083/deposit/api/v1")
+@FeignClient(name = "deposit-service", url = "${app.param.productCheck.depositServiceUrl:http://localhost:8083/deposit/api/v1}")
 public interface DepositServiceClient {
 
     @GetMapping("/deposits")
@@ -0,0 +1,21 @@
+package com.example.userservice.app.feign.config;
+
+import feign.micrometer.MicrometerCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignMetricsConfig {
+
+    /**
+     * Таймер {@code feign.Client} на каждый вызов credit-service и deposit-service с тегами client, method, uri
+     * (шаблон из {@code @GetMapping}, без clientId), host и exception_name, если вызов упал до ответа, а также
+     * счётчик {@code feign.Client.http_response_code}. Заменяет observation-инструментацию Spring Cloud
+     * (spring.cloud.openfeign.micrometer.enabled: false), которая не записывает вызовы, оборвавшиеся на соединении.
+     */
+    @Bean
+    public MicrometerCapability feignMicrometerCapability(MeterRegistry meterRegistry) {
+        return new MicrometerCapability(meterRegistry);
+    }
+}
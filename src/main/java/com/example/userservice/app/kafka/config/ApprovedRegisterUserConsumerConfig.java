@@ -1,30 +1,55 @@
 package com.example.userservice.app.kafka.config;
 
 import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
 public class ApprovedRegisterUserConsumerConfig {
 
+    private final MeterRegistry meterRegistry;
+
+    private final Environment environment;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrap;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String kafkaConsumerGroupId;
 
+    @Value("${app.param.approvedRegisterUser.maxPollRecords:500}")
+    private int maxPollRecords;
+
+    @Value("${app.param.approvedRegisterUser.concurrency:1}")
+    private int concurrency;
+
     @Bean
     public ConsumerFactory<String, ApprovedRegisterUserDto> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -40,7 +65,11 @@ public class ApprovedRegisterUserConsumerConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, deserializer);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaConsumerGroupId);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        DefaultKafkaConsumerFactory<String, ApprovedRegisterUserDto> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        // метрики клиента Kafka, в том числе records-lag по каждой партиции
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
     }
 
     @Bean
@@ -48,6 +77,54 @@ public class ApprovedRegisterUserConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, ApprovedRegisterUserDto> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        useVirtualThreads(factory);
+        return factory;
+    }
+
+    /**
+     * Фабрика для пакетного режима (app.param.approvedRegisterUser.batch = true):
+     * слушатель получает весь результат poll, смещения коммитятся после обработки пачки
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.param.approvedRegisterUser.batch", havingValue = "true")
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, ApprovedRegisterUserDto>> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ApprovedRegisterUserDto> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        useVirtualThreads(factory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setContainerCustomizer(container -> container.getContainerProperties().getKafkaConsumerProperties()
+                .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords)));
         return factory;
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.param.approvedRegisterUser.batch", havingValue = "true")
+    public KafkaTemplate<String, ApprovedRegisterUserDto> approvedRegisterUserDeadLetterTemplate(ObjectMapper mapper) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        DefaultKafkaProducerFactory<String, ApprovedRegisterUserDto> producerFactory =
+                new DefaultKafkaProducerFactory<>(props);
+        producerFactory.setValueSerializer(new JsonSerializer<>(mapper));
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Фабрики объявлены здесь, а не автоконфигурацией Spring Boot, поэтому spring.threads.virtual.enabled
+     * к ним не применяется: при включённых виртуальных потоках (Java 21+) потоки слушателей задаются явно
+     */
+    private void useVirtualThreads(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor listenerTaskExecutor = new SimpleAsyncTaskExecutor("approved-register-user-");
+            listenerTaskExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerTaskExecutor);
+        }
+    }
 }
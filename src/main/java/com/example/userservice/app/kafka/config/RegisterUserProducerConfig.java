@@ -2,6 +2,7 @@ package com.example.userservice.app.kafka.config;
 
 import com.example.userservice.app.kafka.dto.RegisterUserDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.JacksonUtils;
 import org.springframework.kafka.support.serializer.JsonSerializer;
@@ -22,11 +24,24 @@ public class RegisterUserProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrap;
 
+    @Value("${app.param.registerUserOutbox.lingerMs:20}")
+    private int lingerMs;
+
+    @Value("${app.param.registerUserOutbox.compressionType:lz4}")
+    private String compressionType;
+
+    @Value("${app.param.registerUserOutbox.producerBatchSize:65536}")
+    private int producerBatchSize;
+
     @Bean
     public ObjectMapper objectMapper() {
         return JacksonUtils.enhancedObjectMapper();
     }
 
+    /**
+     * Сообщения отправляются пачками из outbox, поэтому producer настроен на пропускную способность:
+     * linger.ms и batch.size собирают пачку, compression.type сжимает её целиком
+     */
     @Bean
     public Map<String, Object> createRegisterUserProducer() {
         Map<String, Object> map = new HashMap<>();
@@ -34,14 +49,20 @@ public class RegisterUserProducerConfig {
         map.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         map.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         map.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        map.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        map.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        map.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
         return map;
     }
 
     @Bean
-    public ProducerFactory<String, RegisterUserDto> createRegisterUserProducerFactory(ObjectMapper mapper) {
+    public ProducerFactory<String, RegisterUserDto> createRegisterUserProducerFactory(ObjectMapper mapper,
+                                                                                      MeterRegistry meterRegistry) {
         DefaultKafkaProducerFactory<String, RegisterUserDto> kafkaProducerFactory =
                 new DefaultKafkaProducerFactory<>(createRegisterUserProducer());
         kafkaProducerFactory.setValueSerializer(new JsonSerializer<>(mapper));
+        // метрики клиента Kafka (kafka.producer.*), в том числе request.latency и record.error.rate
+        kafkaProducerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
         return kafkaProducerFactory;
     }
 
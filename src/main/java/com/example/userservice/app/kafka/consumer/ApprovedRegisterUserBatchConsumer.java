@@ -0,0 +1,159 @@
+package com.example.userservice.app.kafka.consumer;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.app.service.completeregistration.RegistrationHandoffExecutor;
+import com.example.userservice.app.service.completeregistration.RegistrationPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Пакетный режим чтения топика approved-register-user (app.param.approvedRegisterUser.batch = true).
+ * <p>
+ * Обрабатываются все сообщения пачки в порядке чтения. Пачка делится на раунды: в k-й раунд попадает k-е
+ * сообщение каждого clientId, так что в раунде клиенты не повторяются, а сообщения одного клиента
+ * обрабатываются последовательно, раунд за раундом. Сообщения раунда группируются по ClientFlow и
+ * обрабатываются {@link RegistrationPipeline} целиком, статусы меняются одним UPDATE на каждый статус. Если обработка группы падает,
+ * её сообщения обрабатываются по одному через {@link RegistrationHandoffExecutor}, а сообщения
+ * с ошибкой отправляются в dead-letter топик, остальная пачка при этом не откатывается.
+ */
+@EnableKafka
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.param.approvedRegisterUser.batch", havingValue = "true")
+public class ApprovedRegisterUserBatchConsumer {
+
+    private static final long DEAD_LETTER_SEND_TIMEOUT_SECONDS = 10;
+
+    private final RegistrationPipeline registrationPipeline;
+
+    private final KafkaTemplate<String, ApprovedRegisterUserDto> deadLetterTemplate;
+
+    private final String deadLetterTopic;
+
+    private final RegistrationHandoffExecutor handoffExecutor;
+
+    private final ApprovedRegisterUserMetrics metrics;
+
+    public ApprovedRegisterUserBatchConsumer(
+            RegistrationPipeline registrationPipeline,
+            RegistrationHandoffExecutor handoffExecutor,
+            ApprovedRegisterUserMetrics metrics,
+            @Qualifier("approvedRegisterUserDeadLetterTemplate")
+            KafkaTemplate<String, ApprovedRegisterUserDto> deadLetterTemplate,
+            @Value("${app.param.approvedRegisterUser.deadLetterTopic:approved-register-user.DLT}")
+            String deadLetterTopic) {
+        this.registrationPipeline = registrationPipeline;
+        this.deadLetterTemplate = deadLetterTemplate;
+        this.deadLetterTopic = deadLetterTopic;
+        this.handoffExecutor = handoffExecutor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Метод читает пачку сообщений с топика approved-register-user
+     *
+     * @param records сообщения, полученные за один poll
+     */
+    @KafkaListener(topics = "approved-register-user", containerFactory = "batchKafkaListenerContainerFactory")
+    public void completeClientRegistrations(List<ConsumerRecord<String, ApprovedRegisterUserDto>> records) {
+        log.debug("accept {} messages from topic approved-register-user", records.size());
+        long start = System.nanoTime();
+        List<List<ApprovedRegisterUserDto>> rounds = new ArrayList<>();
+        Map<UUID, Integer> messageCountByClientId = new HashMap<>();
+        for (ConsumerRecord<String, ApprovedRegisterUserDto> consumerRecord : records) {
+            ApprovedRegisterUserDto dto = consumerRecord.value();
+            if (!registrationPipeline.supports(dto)) {
+                log.error("message {} is invalid, sending to {}", dto, deadLetterTopic);
+                sendToDeadLetterTopic(dto);
+            } else {
+                int round = messageCountByClientId.merge(dto.getClientId(), 1, Integer::sum) - 1;
+                if (round == rounds.size()) {
+                    rounds.add(new ArrayList<>());
+                }
+                rounds.get(round).add(dto);
+            }
+        }
+        if (rounds.size() > 1) {
+            log.debug("batch has several messages of a client, processing in {} rounds", rounds.size());
+        }
+        rounds.forEach(this::completeRound);
+        recordMetrics(records, System.nanoTime() - start);
+        log.debug("{} messages processed", records.size());
+    }
+
+    /**
+     * Обрабатывает сообщения раунда, в котором у каждого клиента не больше одного сообщения
+     */
+    private void completeRound(List<ApprovedRegisterUserDto> round) {
+        Map<ClientFlow, List<ApprovedRegisterUserDto>> dtosByClientFlow = new EnumMap<>(ClientFlow.class);
+        round.forEach(dto ->
+                dtosByClientFlow.computeIfAbsent(dto.getClientFlow(), clientFlow -> new ArrayList<>()).add(dto));
+
+        dtosByClientFlow.forEach((clientFlow, dtos) -> {
+            try {
+                registrationPipeline.completeAll(dtos);
+            } catch (RuntimeException e) {
+                log.warn("batch of {} {} messages failed, processing one by one", dtos.size(), clientFlow, e);
+                handoffExecutor.forEachOrdered(dtos, this::completeClientRegistration);
+            }
+        });
+    }
+
+    /**
+     * Время обработки пачки относится к каждой партиции, сообщения которой в ней были
+     */
+    private void recordMetrics(List<ConsumerRecord<String, ApprovedRegisterUserDto>> records, long processingNanos) {
+        Map<TopicPartition, Long> lastTimestampByPartition = new LinkedHashMap<>();
+        records.forEach(consumerRecord -> lastTimestampByPartition.put(
+                new TopicPartition(consumerRecord.topic(), consumerRecord.partition()), consumerRecord.timestamp()));
+        lastTimestampByPartition.forEach((topicPartition, timestamp) -> metrics.recordProcessed(
+                topicPartition.topic(), topicPartition.partition(), timestamp, processingNanos));
+    }
+
+    private void completeClientRegistration(ApprovedRegisterUserDto approvedRegisterUserDto) {
+        try {
+            registrationPipeline.complete(approvedRegisterUserDto);
+        } catch (RuntimeException e) {
+            log.error("message {} failed, sending to {}", approvedRegisterUserDto, deadLetterTopic, e);
+            sendToDeadLetterTopic(approvedRegisterUserDto);
+        }
+    }
+
+    /**
+     * Ждёт подтверждения отправки: если dead-letter топик недоступен, исключение откатывает
+     * смещения пачки и она будет прочитана повторно
+     */
+    private void sendToDeadLetterTopic(ApprovedRegisterUserDto approvedRegisterUserDto) {
+        String key = approvedRegisterUserDto == null || approvedRegisterUserDto.getClientId() == null
+                ? null : approvedRegisterUserDto.getClientId().toString();
+        try {
+            deadLetterTemplate.send(deadLetterTopic, key, approvedRegisterUserDto)
+                    .get(DEAD_LETTER_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending to " + deadLetterTopic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not send message to " + deadLetterTopic, e);
+        }
+    }
+}
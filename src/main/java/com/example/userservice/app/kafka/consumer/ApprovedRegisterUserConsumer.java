@@ -1,22 +1,27 @@
 package com.example.userservice.app.kafka.consumer;
 
-import com.example.userservice.app.service.completeregistration.CompleteClientRegistrationService;
 import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.service.completeregistration.RegistrationPipeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
-
 @RequiredArgsConstructor
 @EnableKafka
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "app.param.approvedRegisterUser.batch", havingValue = "false", matchIfMissing = true)
 public class ApprovedRegisterUserConsumer {
 
-    private final Set<CompleteClientRegistrationService> registrationServiceSet;
+    private final RegistrationPipeline registrationPipeline;
+
+    private final ApprovedRegisterUserMetrics metrics;
 
     /**
      * Метод читает сообщение с топика approved-register-user
@@ -24,14 +29,19 @@ public class ApprovedRegisterUserConsumer {
      * если Approval = BLOCKED - отмена регистрации
      *
      * @param approvedRegisterUserDto сообщение читаемое с топика
+     * @param topic                   топик сообщения
+     * @param partition               партиция сообщения
+     * @param timestamp               время записи сообщения в топик
      */
     @KafkaListener(topics = "approved-register-user")
-    public void completeClientRegistration(ApprovedRegisterUserDto approvedRegisterUserDto) {
+    public void completeClientRegistration(@Payload ApprovedRegisterUserDto approvedRegisterUserDto,
+                                           @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                           @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                           @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
         log.debug("accept message - {}  from topic approved-register-user", approvedRegisterUserDto);
-        registrationServiceSet.stream()
-                .filter(s -> s.getType() == approvedRegisterUserDto.getClientFlow())
-                .findFirst()
-                .ifPresent(s -> s.completeClientRegistration(approvedRegisterUserDto));
+        long start = System.nanoTime();
+        registrationPipeline.complete(approvedRegisterUserDto);
+        metrics.recordProcessed(topic, partition, timestamp, System.nanoTime() - start);
         log.debug("message processed - {}", approvedRegisterUserDto);
     }
 }
@@ -0,0 +1,36 @@
+package com.example.userservice.app.kafka.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Метрики обработки топика approved-register-user по партициям:
+ * approved.register.user.processing - время обработки сообщения (в пакетном режиме - пачки),
+ * approved.register.user.delay - время от записи сообщения в топик до окончания его обработки.
+ * Отставание в сообщениях публикуется клиентом Kafka как kafka.consumer.fetch.manager.records.lag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApprovedRegisterUserMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordProcessed(String topic, int partition, long recordTimestamp, long processingNanos) {
+        timer("approved.register.user.processing", topic, partition).record(Duration.ofNanos(processingNanos));
+        if (recordTimestamp > 0) {
+            long delayMillis = Math.max(0, System.currentTimeMillis() - recordTimestamp);
+            timer("approved.register.user.delay", topic, partition).record(Duration.ofMillis(delayMillis));
+        }
+    }
+
+    private Timer timer(String name, String topic, int partition) {
+        return Timer.builder(name)
+                .tag("topic", topic)
+                .tag("partition", String.valueOf(partition))
+                .register(meterRegistry);
+    }
+}
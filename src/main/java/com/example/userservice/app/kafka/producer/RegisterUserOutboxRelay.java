@@ -0,0 +1,226 @@
+package com.example.userservice.app.kafka.producer;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+import com.example.userservice.persistence.model.OutboxMessage;
+import com.example.userservice.persistence.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фоновая отправка сообщений из outbox (db_outbox) в Kafka.
+ * <p>
+ * Каждый запуск забирает неотправленные сообщения пачками по batchSize в порядке создания: в короткой
+ * транзакции строки блокируются (занятые другим экземпляром пропускаются) и занимаются до claimedUntil
+ * (now + claimTimeout), после коммита пачка отправляется без транзакции и блокировок, и во второй короткой
+ * транзакции отправленные отмечаются. Неподтверждённые сообщения остаются занятыми до claimedUntil и
+ * отправляются повторно после него, т.е. доставка at-least-once; после maxAttempts неудачных отправок, а
+ * сообщения с нечитаемым payload сразу, отмечаются failedAt и больше не отправляются.
+ * <p>
+ * Метрики: outbox.register.user.sent, outbox.register.user.failed (неудачные отправки),
+ * outbox.register.user.dead (исключённые из очереди сообщения), outbox.register.user.relay (время пачки),
+ * outbox.register.user.pending (неотправленные сообщения) и outbox.register.user.lag (возраст самого
+ * старого неотправленного сообщения, секунды).
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "app.param.registerUserOutbox.relayEnabled", havingValue = "true", matchIfMissing = true)
+public class RegisterUserOutboxRelay {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final KafkaTemplate<String, RegisterUserDto> registerUserProducer;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long sendTimeoutMillis;
+
+    private final Duration claimTimeout;
+
+    private final int maxAttempts;
+
+    private final Duration retention;
+
+    private final Counter sentCounter;
+
+    private final Counter failedCounter;
+
+    private final Counter deadCounter;
+
+    private final Timer relayTimer;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public RegisterUserOutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                                   KafkaTemplate<String, RegisterUserDto> registerUserProducer,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.param.registerUserOutbox.batchSize:200}") int batchSize,
+                                   @Value("${app.param.registerUserOutbox.sendTimeout:10000}") long sendTimeoutMillis,
+                                   @Value("${app.param.registerUserOutbox.claimTimeout:60000}") long claimTimeoutMillis,
+                                   @Value("${app.param.registerUserOutbox.maxAttempts:10}") int maxAttempts,
+                                   @Value("${app.param.registerUserOutbox.retention:24}") long retentionHours) {
+        if (claimTimeoutMillis <= sendTimeoutMillis) {
+            throw new IllegalArgumentException("claimTimeout must be greater than sendTimeout");
+        }
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.registerUserProducer = registerUserProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+        this.maxAttempts = maxAttempts;
+        this.retention = Duration.ofHours(retentionHours);
+        this.sentCounter = meterRegistry.counter("outbox.register.user.sent");
+        this.failedCounter = meterRegistry.counter("outbox.register.user.failed");
+        this.deadCounter = meterRegistry.counter("outbox.register.user.dead");
+        this.relayTimer = meterRegistry.timer("outbox.register.user.relay");
+        Gauge.builder("outbox.register.user.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.register.user.lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Отправляет пачки, пока не будет занята неполная пачка
+     */
+    @Scheduled(fixedDelayString = "${app.param.registerUserOutbox.pollInterval:500}")
+    public void relay() {
+        int claimed;
+        do {
+            claimed = relayTimer.record(this::relayBatch);
+        } while (claimed == batchSize);
+        updateLag();
+    }
+
+    /**
+     * Удаляет сообщения, отправленные раньше, чем retention назад
+     */
+    @Scheduled(fixedDelayString = "${app.param.registerUserOutbox.cleanupInterval:3600000}")
+    public void deleteSent() {
+        int deleted = transactionTemplate.execute(status ->
+                outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        log.debug("{} sent messages deleted from outbox", deleted);
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> messages = transactionTemplate.execute(status -> claimBatch());
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, CompletableFuture<SendResult<String, RegisterUserDto>>> futures = new LinkedHashMap<>();
+        List<UUID> unreadableIds = new ArrayList<>();
+        Set<UUID> failedIds = new LinkedHashSet<>();
+        for (OutboxMessage message : messages) {
+            RegisterUserDto registerUserDto;
+            try {
+                registerUserDto = objectMapper.readValue(message.getPayload(), RegisterUserDto.class);
+            } catch (JsonProcessingException e) {
+                log.error("outbox message {} has an unreadable payload, taken out of the queue", message.getId(), e);
+                unreadableIds.add(message.getId());
+                continue;
+            }
+            try {
+                futures.put(message.getId(),
+                        registerUserProducer.send(message.getTopic(), message.getMessageKey(), registerUserDto));
+            } catch (RuntimeException e) {
+                log.warn("outbox message {} could not be sent, will be retried", message.getId(), e);
+                failedIds.add(message.getId());
+            }
+        }
+        List<UUID> sentIds = awaitSent(futures, failedIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxMessageRepository.markSent(sentIds, now);
+            }
+            if (!unreadableIds.isEmpty()) {
+                outboxMessageRepository.markFailed(unreadableIds, now);
+            }
+            if (!failedIds.isEmpty()) {
+                outboxMessageRepository.recordFailedAttempt(failedIds, now, maxAttempts);
+            }
+        });
+        sentCounter.increment(sentIds.size());
+        failedCounter.increment(unreadableIds.size() + failedIds.size());
+        deadCounter.increment(unreadableIds.size() + messages.stream()
+                .filter(message -> failedIds.contains(message.getId()) && message.getAttempts() + 1 >= maxAttempts)
+                .count());
+        log.debug("{} of {} outbox messages sent", sentIds.size(), messages.size());
+        return messages.size();
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = outboxMessageRepository.findUnsentForUpdate(now, PageRequest.of(0, batchSize));
+        if (!messages.isEmpty()) {
+            outboxMessageRepository.claim(messages.stream().map(OutboxMessage::getId).toList(), now.plus(claimTimeout));
+        }
+        return messages;
+    }
+
+    private List<UUID> awaitSent(Map<UUID, CompletableFuture<SendResult<String, RegisterUserDto>>> futures,
+                                 Set<UUID> failedIds) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<UUID> sentIds = new ArrayList<>(futures.size());
+        for (Map.Entry<UUID, CompletableFuture<SendResult<String, RegisterUserDto>>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sentIds.add(entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("outbox message {} was not acknowledged, will be retried", entry.getKey(), e);
+                failedIds.add(entry.getKey());
+            }
+        }
+        return sentIds;
+    }
+
+    private void updateLag() {
+        pending.set(outboxMessageRepository.countUnsent());
+        lagSeconds.set(outboxMessageRepository.findOldestUnsentCreatedAt()
+                .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toSeconds()))
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.userservice.app.ratelimit;
+
+/**
+ * Группа эндпоинтов с общими лимитами. Лимиты задаются в app.param.rateLimit.&lt;property&gt;:
+ * limit - запросов на один телефон/паспорт за window секунд, ipLimit - запросов с одного IP за то же окно.
+ */
+public enum RateLimitScope {
+
+    /** Отправка кода подтверждения */
+    VERIFICATION_SEND("verificationSend", 3, 20, 60),
+    /** Проверка кода подтверждения */
+    VERIFICATION_CHECK("verificationCheck", 10, 50, 60),
+    /** Вход по телефону или паспорту */
+    LOGIN("login", 10, 50, 60);
+
+    private final String property;
+    private final int defaultLimit;
+    private final int defaultIpLimit;
+    private final long defaultWindowSeconds;
+
+    RateLimitScope(String property, int defaultLimit, int defaultIpLimit, long defaultWindowSeconds) {
+        this.property = property;
+        this.defaultLimit = defaultLimit;
+        this.defaultIpLimit = defaultIpLimit;
+        this.defaultWindowSeconds = defaultWindowSeconds;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public int getDefaultIpLimit() {
+        return defaultIpLimit;
+    }
+
+    public long getDefaultWindowSeconds() {
+        return defaultWindowSeconds;
+    }
+}
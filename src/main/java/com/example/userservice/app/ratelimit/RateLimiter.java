@@ -0,0 +1,226 @@
+package com.example.userservice.app.ratelimit;
+
+import com.example.userservice.web.controller.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение частоты запросов на телефон/паспорт и на IP клиента, вызывается контроллерами до сервисов.
+ * <p>
+ * Лимит на IP включается app.param.rateLimit.ipEnabled: за шлюзом или балансировщиком remoteAddr - адрес
+ * прокси, поэтому включать его можно только если адрес клиента восстанавливается из X-Forwarded-For
+ * (server.forward-headers-strategy и доверенные прокси server.tomcat.remoteip.internal-proxies).
+ * <p>
+ * Первый уровень - token bucket в памяти экземпляра: всплески с одного ключа отсекаются без обращения
+ * к Redis и БД. Запросы, прошедшие локальную проверку, считаются в Redis скользящим окном
+ * (rate-limit.lua, один вызов на запрос), чтобы лимит был общим для всех экземпляров.
+ * Ошибки Redis запрос не отклоняют: остаётся локальный лимит, а Redis не используется redisRetryDelay секунд.
+ * <p>
+ * Метрика rate.limit.rejected с тегами scope и level (local/redis).
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private static final RedisScript<Long> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rate-limit.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final boolean enabled;
+
+    private final boolean ipEnabled;
+
+    private final long redisRetryDelayMillis;
+
+    private final Map<RateLimitScope, Rule> rules = new EnumMap<>(RateLimitScope.class);
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Map<RateLimitScope, Counter> localRejections = new EnumMap<>(RateLimitScope.class);
+
+    private final Map<RateLimitScope, Counter> redisRejections = new EnumMap<>(RateLimitScope.class);
+
+    private final Counter redisErrors;
+
+    private volatile long redisDisabledUntil;
+
+    public RateLimiter(StringRedisTemplate redisTemplate,
+                       MeterRegistry meterRegistry,
+                       Environment environment,
+                       @Value("${app.param.rateLimit.enabled:true}") boolean enabled,
+                       @Value("${app.param.rateLimit.ipEnabled:false}") boolean ipEnabled,
+                       @Value("${app.param.rateLimit.localMaximumSize:100000}") long localMaximumSize,
+                       @Value("${app.param.rateLimit.redisRetryDelay:30}") long redisRetryDelaySeconds) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ipEnabled = ipEnabled;
+        this.redisRetryDelayMillis = TimeUnit.SECONDS.toMillis(redisRetryDelaySeconds);
+        long maxWindowSeconds = 1;
+        for (RateLimitScope scope : RateLimitScope.values()) {
+            Rule rule = Rule.of(environment, scope);
+            rules.put(scope, rule);
+            maxWindowSeconds = Math.max(maxWindowSeconds, rule.window().toSeconds());
+            localRejections.put(scope, rejectionCounter(meterRegistry, scope, "local"));
+            redisRejections.put(scope, rejectionCounter(meterRegistry, scope, "redis"));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterAccess(Duration.ofSeconds(maxWindowSeconds))
+                .build();
+        this.redisErrors = meterRegistry.counter("rate.limit.redis.errors");
+    }
+
+    /**
+     * Учитывает запрос к группе эндпоинтов для телефона/паспорта и, если лимит на IP включён и запрос
+     * пришёл по HTTP, для IP клиента
+     *
+     * @param scope   группа эндпоинтов
+     * @param subject телефон или номер паспорта из запроса
+     * @throws TooManyRequestsException если лимит исчерпан
+     */
+    public void acquire(RateLimitScope scope, String subject) {
+        if (!enabled) {
+            return;
+        }
+        Rule rule = rules.get(scope);
+        List<Limit> limits = new ArrayList<>(2);
+        if (subject != null && !subject.isBlank()) {
+            limits.add(new Limit(scope.name() + ":" + subject, rule.limit()));
+        }
+        String clientIp = ipEnabled ? clientIp() : null;
+        if (clientIp != null) {
+            limits.add(new Limit(scope.name() + ":ip:" + clientIp, rule.ipLimit()));
+        }
+        for (Limit limit : limits) {
+            TokenBucket bucket = buckets.get(limit.key(), key -> new TokenBucket(limit.limit(), rule.window()));
+            long retryAfterNanos = bucket.tryAcquire(System.nanoTime());
+            if (retryAfterNanos > 0) {
+                localRejections.get(scope).increment();
+                throw tooManyRequests(TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos));
+            }
+        }
+        acquireShared(scope, rule, limits);
+    }
+
+    private void acquireShared(RateLimitScope scope, Rule rule, List<Limit> limits) {
+        if (limits.isEmpty() || System.currentTimeMillis() < redisDisabledUntil) {
+            return;
+        }
+        long windowMillis = rule.window().toMillis();
+        long now = System.currentTimeMillis();
+        long windowNumber = now / windowMillis;
+        List<String> keys = new ArrayList<>(limits.size() * 2);
+        Object[] args = new Object[2 + limits.size()];
+        args[0] = String.valueOf(windowMillis);
+        args[1] = String.valueOf(now % windowMillis);
+        for (int i = 0; i < limits.size(); i++) {
+            keys.add(KEY_PREFIX + limits.get(i).key() + ":" + windowNumber);
+            keys.add(KEY_PREFIX + limits.get(i).key() + ":" + (windowNumber - 1));
+            args[2 + i] = String.valueOf(limits.get(i).limit());
+        }
+        Long exceeded;
+        try {
+            exceeded = redisTemplate.execute(SCRIPT, keys, args);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            redisDisabledUntil = System.currentTimeMillis() + redisRetryDelayMillis;
+            log.warn("Rate limit counters in Redis are unavailable, only local limits apply for {} ms",
+                    redisRetryDelayMillis, e);
+            return;
+        }
+        if (exceeded != null && exceeded > 0) {
+            redisRejections.get(scope).increment();
+            throw tooManyRequests(TimeUnit.MILLISECONDS.toSeconds(windowMillis - now % windowMillis));
+        }
+    }
+
+    private static TooManyRequestsException tooManyRequests(long retryAfterSeconds) {
+        return new TooManyRequestsException("Too many requests, try again later", Math.max(1, retryAfterSeconds));
+    }
+
+    private static String clientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            return servletRequestAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, RateLimitScope scope, String level) {
+        return Counter.builder("rate.limit.rejected")
+                .tag("scope", scope.name())
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+
+    private record Rule(int limit, int ipLimit, Duration window) {
+
+        private static Rule of(Environment environment, RateLimitScope scope) {
+            String prefix = "app.param.rateLimit." + scope.getProperty() + ".";
+            return new Rule(
+                    environment.getProperty(prefix + "limit", Integer.class, scope.getDefaultLimit()),
+                    environment.getProperty(prefix + "ipLimit", Integer.class, scope.getDefaultIpLimit()),
+                    Duration.ofSeconds(environment.getProperty(prefix + "window", Long.class,
+                            scope.getDefaultWindowSeconds())));
+        }
+    }
+
+    private record Limit(String key, int limit) {
+    }
+
+    /**
+     * Ёмкость limit, пополняется на limit токенов за window равномерно
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+
+        private final double tokensPerNano;
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private TokenBucket(int limit, Duration window) {
+            this.capacity = limit;
+            this.tokensPerNano = limit / (double) window.toNanos();
+            this.tokens = limit;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * @return 0, если токен взят, иначе сколько наносекунд ждать следующего токена
+         */
+        private synchronized long tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.example.userservice.web.dto.responses.RegistrationInfoDTO;
 import com.example.userservice.web.dto.responses.UserInfoDto;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,6 +32,8 @@ public interface ClientService {
 
     void changeClientStatus(UUID clientId, ClientStatus clientStatus);
 
+    void changeClientStatus(Collection<UUID> clientIds, ClientStatus clientStatus);
+
     void cancelClientRegistration(UUID clientId);
 
     boolean hasActiveProducts(UUID clientId);
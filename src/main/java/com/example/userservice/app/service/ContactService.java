@@ -2,6 +2,7 @@ package com.example.userservice.app.service;
 
 import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.web.dto.requests.EmailAndPassportDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
 import com.example.userservice.web.dto.responses.NotificationsInfoDto;
 
 import java.sql.SQLException;
@@ -22,10 +23,14 @@ public interface ContactService {
 
     void changeEmail(UUID clientId, String email);
 
-    void changePushNotifications(Contact contact, Boolean notificationStatus);
+    void changePushNotifications(UUID clientId, Boolean notificationStatus);
 
     void changeSmsNotifications(UUID clientId, Boolean notificationStatus);
 
+    void changeEmailNotifications(UUID clientId, Boolean notificationStatus);
+
+    void changeNotifications(UUID clientId, NotificationSettingsDto notificationSettingsDto);
+
     Contact findContactByClientId(UUID clientId);
 
     NotificationsInfoDto getNotificationsInfoByClientId(UUID clientId);
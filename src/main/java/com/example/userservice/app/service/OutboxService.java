@@ -0,0 +1,15 @@
+package com.example.userservice.app.service;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+
+public interface OutboxService {
+
+    /**
+     * Сохраняет сообщение для топика register-user в outbox в текущей транзакции.
+     * Сообщение будет отправлено в Kafka после коммита фоновым relay,
+     * если транзакция откатится - сообщение не отправится.
+     *
+     * @param registerUserDto сообщение, ключ - clientId
+     */
+    void enqueueRegisterUser(RegisterUserDto registerUserDto);
+}
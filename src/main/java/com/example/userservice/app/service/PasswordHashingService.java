@@ -0,0 +1,16 @@
+package com.example.userservice.app.service;
+
+/**
+ * Hashing and verification of client passwords.
+ */
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * @return true if the hash was produced with a cost other than the configured one
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,15 @@
+package com.example.userservice.app.service;
+
+import java.util.UUID;
+
+/**
+ * Checks whether a client has active products in credit-service or deposit-service.
+ */
+public interface ProductCheckService {
+
+    /**
+     * @param clientId client identifier
+     * @return true if at least one of the services reports active products
+     */
+    boolean hasActiveProducts(UUID clientId);
+}
@@ -26,6 +26,8 @@ public interface UserProfileService {
 
     boolean passwordExists(UUID id, String oldPassword);
 
+    boolean passwordMatches(UUID clientId, String passwordEncoded, String password);
+
     void updateSecurityQuestion(UUID id, String securityQuestion, String securityAnswer);
 
     AuthorizationOutgoingDto changeAuthorizationType (UserProfile profile,
@@ -0,0 +1,199 @@
+package com.example.userservice.app.service.codedelivery;
+
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронная доставка кодов подтверждения через {@link CodeSender}.
+ * <p>
+ * {@link #dispatch(String, String)} только ставит код в очередь и сразу возвращается, поэтому задержка
+ * шлюза не попадает во время ответа. Пока код не отправлен, более новый код для того же телефона
+ * заменяет его (отправляется только последний). Потоки доставки (workers) забирают телефоны пачками
+ * до batchSize, ожидая добора пачки не дольше linger мс. В очереди не больше capacity телефонов,
+ * при переполнении запрос отклоняется с 503.
+ * <p>
+ * Метрики: verification.code.delivery (от постановки в очередь до ответа шлюза, тег result),
+ * verification.code.batch (размер пачки), verification.code.coalesced, verification.code.rejected
+ * и verification.code.pending (телефоны в очереди).
+ */
+@Slf4j
+@Component
+public class CodeDispatcher {
+
+    private final CodeSender codeSender;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final long shutdownTimeoutMillis;
+
+    private final BlockingQueue<String> queue;
+
+    private final Map<String, PendingCode> pending = new ConcurrentHashMap<>();
+
+    private final ExecutorService workers;
+
+    private volatile boolean running = true;
+
+    private final Timer deliveredTimer;
+
+    private final Timer failedTimer;
+
+    private final DistributionSummary batchSummary;
+
+    private final Counter coalescedCounter;
+
+    private final Counter rejectedCounter;
+
+    public CodeDispatcher(CodeSender codeSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.param.codeDelivery.batchSize:100}") int batchSize,
+                          @Value("${app.param.codeDelivery.linger:20}") long lingerMillis,
+                          @Value("${app.param.codeDelivery.capacity:10000}") int capacity,
+                          @Value("${app.param.codeDelivery.workers:2}") int workerCount,
+                          @Value("${app.param.codeDelivery.shutdownTimeout:5000}") long shutdownTimeoutMillis) {
+        this.codeSender = codeSender;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.deliveredTimer = deliveryTimer(meterRegistry, "sent");
+        this.failedTimer = deliveryTimer(meterRegistry, "failed");
+        this.batchSummary = meterRegistry.summary("verification.code.batch");
+        this.coalescedCounter = meterRegistry.counter("verification.code.coalesced");
+        this.rejectedCounter = meterRegistry.counter("verification.code.rejected");
+        Gauge.builder("verification.code.pending", queue, BlockingQueue::size).register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "code-delivery-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::deliverLoop);
+        }
+    }
+
+    /**
+     * Ставит код в очередь на доставку, заменяя ещё не отправленный код для того же телефона
+     *
+     * @throws ServiceUnavailableException если очередь доставки переполнена или доставка остановлена
+     */
+    public void dispatch(String mobilePhone, String code) {
+        if (!running) {
+            throw new ServiceUnavailableException("Verification code delivery is stopped");
+        }
+        PendingCode pendingCode = new PendingCode(new CodeMessage(mobilePhone, code), System.nanoTime());
+        if (pending.put(mobilePhone, pendingCode) != null) {
+            coalescedCounter.increment();
+            return;
+        }
+        if (!queue.offer(mobilePhone)) {
+            // Код, записанный поверх нашего другим запросом, не удаляем: ставим в очередь его телефон сами
+            if (!pending.remove(mobilePhone, pendingCode) && !queue.offer(mobilePhone)) {
+                pending.remove(mobilePhone);
+            }
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Verification code delivery queue is full");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("{} verification codes were not delivered before shutdown", queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliverLoop() {
+        List<PendingCode> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Ждёт первый телефон до 100 мс (чтобы заметить остановку), затем добирает пачку не дольше linger
+     */
+    private void collectBatch(List<PendingCode> batch) throws InterruptedException {
+        String mobilePhone = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (mobilePhone == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + lingerNanos;
+        while (mobilePhone != null) {
+            PendingCode pendingCode = pending.remove(mobilePhone);
+            if (pendingCode != null) {
+                batch.add(pendingCode);
+            }
+            if (batch.size() == batchSize) {
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            mobilePhone = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+        }
+    }
+
+    private void send(List<PendingCode> batch) {
+        batchSummary.record(batch.size());
+        Timer timer = deliveredTimer;
+        try {
+            codeSender.send(batch.stream().map(PendingCode::message).toList());
+        } catch (RuntimeException e) {
+            log.error("{} verification codes were not delivered", batch.size(), e);
+            timer = failedTimer;
+        }
+        long now = System.nanoTime();
+        for (PendingCode pendingCode : batch) {
+            timer.record(now - pendingCode.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer deliveryTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("verification.code.delivery")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private record PendingCode(CodeMessage message, long enqueuedNanos) {
+    }
+}
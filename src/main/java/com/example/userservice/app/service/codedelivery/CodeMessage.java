@@ -0,0 +1,10 @@
+package com.example.userservice.app.service.codedelivery;
+
+/**
+ * Код подтверждения, который нужно доставить на телефон
+ *
+ * @param mobilePhone телефон получателя
+ * @param code        код
+ */
+public record CodeMessage(String mobilePhone, String code) {
+}
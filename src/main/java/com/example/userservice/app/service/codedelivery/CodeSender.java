@@ -0,0 +1,15 @@
+package com.example.userservice.app.service.codedelivery;
+
+import java.util.List;
+
+/**
+ * Канал доставки кодов подтверждения (SMS-шлюз и т.п.).
+ * <p>
+ * Реализация выбирается свойством app.param.codeDelivery.sender. Вызывается из потоков
+ * {@link CodeDispatcher} пачками, в одной пачке не больше одного кода на телефон.
+ * Исключение означает, что ни один код из пачки не доставлен.
+ */
+public interface CodeSender {
+
+    void send(List<CodeMessage> messages);
+}
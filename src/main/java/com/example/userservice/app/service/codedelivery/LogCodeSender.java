@@ -0,0 +1,49 @@
+package com.example.userservice.app.service.codedelivery;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Заглушка доставки для локального запуска: дописывает коды в файл app.param.codeDelivery.logFile,
+ * а если он не задан - пишет их в лог на уровне DEBUG.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.param.codeDelivery.sender", havingValue = "log", matchIfMissing = true)
+public class LogCodeSender implements CodeSender {
+
+    private final Path logFile;
+
+    public LogCodeSender(@Value("${app.param.codeDelivery.logFile:}") String logFile) {
+        this.logFile = logFile.isBlank() ? null : Path.of(logFile);
+    }
+
+    @Override
+    public void send(List<CodeMessage> messages) {
+        if (logFile == null) {
+            messages.forEach(message -> log.debug("verification code {} for {}", message.code(), message.mobilePhone()));
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        LocalDateTime now = LocalDateTime.now();
+        messages.forEach(message -> lines.append(now).append(' ').append(message.mobilePhone())
+                .append(' ').append(message.code()).append(System.lineSeparator()));
+        try {
+            synchronized (this) {
+                Files.writeString(logFile, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Verification codes could not be written to " + logFile, e);
+        }
+    }
+}
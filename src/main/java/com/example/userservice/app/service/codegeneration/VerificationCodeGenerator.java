@@ -0,0 +1,178 @@
+package com.example.userservice.app.service.codegeneration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Генерация кодов подтверждения из verificationCodeLength цифр.
+ * <p>
+ * Коды берутся из {@link SecureRandom} DRBG: после начального посева он не читает энтропию ОС и не блокируется.
+ * Сам SecureRandom синхронизирован, поэтому коды заранее генерирует один фоновый поток в кольцевой буфер
+ * на bufferSize кодов, а запросы забирают их без блокировок (CAS по номеру кода). Когда в буфере остаётся
+ * меньше половины, фоновый поток будится и дозаполняет его; если буфер пуст, код генерируется в потоке запроса.
+ * <p>
+ * Метрики: verification.code.buffer.available и verification.code.buffer.empty (коды, сгенерированные
+ * в потоке запроса из-за пустого буфера).
+ */
+@Slf4j
+@Component
+public class VerificationCodeGenerator {
+
+    /** Больше 18 цифр не помещается в long */
+    public static final int MAX_LENGTH = 18;
+
+    private static final long REFILL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SecureRandom random;
+
+    private final int length;
+
+    private final long bound;
+
+    private final AtomicReferenceArray<String> buffer;
+
+    private final int mask;
+
+    /** Номер следующего кода, который заберёт запрос */
+    private final AtomicLong head = new AtomicLong();
+
+    /** Номер следующего кода, который запишет фоновый поток; пишет только он */
+    private volatile long tail;
+
+    private final AtomicBoolean refillRequested = new AtomicBoolean();
+
+    private final Thread refiller;
+
+    private volatile boolean running = true;
+
+    private final Counter emptyCounter;
+
+    public VerificationCodeGenerator(MeterRegistry meterRegistry,
+                                     @Value("${app.param.verification.verificationCodeLength:6}") int length,
+                                     @Value("${app.param.verification.codeBufferSize:1024}") int bufferSize) {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("verificationCodeLength must be between 1 and " + MAX_LENGTH);
+        }
+        this.random = strongRandom();
+        this.length = length;
+        this.bound = pow10(length);
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.emptyCounter = meterRegistry.counter("verification.code.buffer.empty");
+        Gauge.builder("verification.code.buffer.available", this, VerificationCodeGenerator::available)
+                .register(meterRegistry);
+
+        this.refiller = new Thread(this::refillLoop, "verification-code-refill");
+        refiller.setDaemon(true);
+        refiller.start();
+    }
+
+    /**
+     * @return новый код из verificationCodeLength цифр (с ведущими нулями)
+     */
+    public String next() {
+        while (true) {
+            long position = head.get();
+            long available = tail - position;
+            if (available <= 0) {
+                emptyCounter.increment();
+                requestRefill();
+                return generate();
+            }
+            if (head.compareAndSet(position, position + 1)) {
+                String code = buffer.getAndSet(index(position), null);
+                if (available <= buffer.length() / 2) {
+                    requestRefill();
+                }
+                return code;
+            }
+        }
+    }
+
+    /**
+     * @return число цифр в коде, по нему сервис проверяет длину присланного кода
+     */
+    public int length() {
+        return length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(refiller);
+    }
+
+    long available() {
+        return Math.max(0, tail - head.get());
+    }
+
+    private void refillLoop() {
+        while (running) {
+            refill();
+            refillRequested.set(false);
+            LockSupport.parkNanos(this, REFILL_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Слот освобождается запросом только после того, как он забрал код, поэтому занятый слот
+     * (запрос продвинул head, но ещё не прочитал код) не перезаписывается - дозаполним на следующем круге
+     */
+    private void refill() {
+        long position = tail;
+        while (running && position - head.get() < buffer.length()) {
+            int index = index(position);
+            if (buffer.get(index) != null) {
+                break;
+            }
+            buffer.set(index, generate());
+            tail = ++position;
+        }
+    }
+
+    private void requestRefill() {
+        if (refillRequested.compareAndSet(false, true)) {
+            LockSupport.unpark(refiller);
+        }
+    }
+
+    private String generate() {
+        String digits = Long.toString(random.nextLong(bound));
+        return digits.length() == length ? digits : "0".repeat(length - digits.length()) + digits;
+    }
+
+    private int index(long position) {
+        return (int) (position & mask);
+    }
+
+    private static SecureRandom strongRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("DRBG SecureRandom is not available, falling back to the default one", e);
+            return new SecureRandom();
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
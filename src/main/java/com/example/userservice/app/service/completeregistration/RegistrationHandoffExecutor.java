@@ -0,0 +1,135 @@
+package com.example.userservice.app.service.completeregistration;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Передача блокирующей работы сервисов завершения регистрации (Feign, БД) на отдельные потоки.
+ * <p>
+ * Режим задаётся app.param.approvedRegisterUser.handoff:
+ * none - всё выполняется в потоке слушателя,
+ * platform - пул из handoffParallelism потоков,
+ * virtual - виртуальные потоки, не более handoffParallelism одновременно (нужна Java 21,
+ * на более ранних версиях используется platform).
+ * <p>
+ * Методы ждут завершения всех задач, поэтому смещения коммитятся только после обработки,
+ * а задачи одного clientId выполняются последовательно в порядке сообщений.
+ */
+@Slf4j
+@Component
+public class RegistrationHandoffExecutor {
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    private final Executor executor;
+
+    private final ExecutorService platformExecutor;
+
+    public RegistrationHandoffExecutor(@Value("${app.param.approvedRegisterUser.handoff:none}") String handoff,
+                                       @Value("${app.param.approvedRegisterUser.handoffParallelism:16}") int parallelism) {
+        String mode = handoff.toLowerCase();
+        if ("virtual".equals(mode) && Runtime.version().feature() < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+            log.warn("Virtual threads need Java {}+, running on {}: using platform threads for registration handoff",
+                    VIRTUAL_THREADS_MIN_JAVA_VERSION, Runtime.version().feature());
+            mode = "platform";
+        }
+        switch (mode) {
+            case "none" -> {
+                this.platformExecutor = null;
+                this.executor = null;
+            }
+            case "platform" -> {
+                AtomicInteger threadNumber = new AtomicInteger();
+                this.platformExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                    Thread thread = new Thread(runnable, "registration-handoff-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                this.executor = platformExecutor;
+            }
+            case "virtual" -> {
+                SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("registration-handoff-");
+                virtualExecutor.setVirtualThreads(true);
+                virtualExecutor.setConcurrencyLimit(parallelism);
+                this.platformExecutor = null;
+                this.executor = virtualExecutor;
+            }
+            default -> throw new IllegalArgumentException("Unknown registration handoff mode: " + handoff);
+        }
+    }
+
+    /**
+     * Применяет функцию к каждому clientId, параллельно если handoff включён
+     *
+     * @return результаты в порядке clientIds
+     */
+    public <T> Map<UUID, T> mapAll(Collection<UUID> clientIds, Function<UUID, T> function) {
+        Map<UUID, T> results = new LinkedHashMap<>();
+        if (executor == null || clientIds.size() < 2) {
+            clientIds.forEach(clientId -> results.put(clientId, function.apply(clientId)));
+            return results;
+        }
+        Map<UUID, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        clientIds.forEach(clientId ->
+                futures.put(clientId, CompletableFuture.supplyAsync(() -> function.apply(clientId), executor)));
+        join(futures.values());
+        futures.forEach((clientId, future) -> results.put(clientId, future.join()));
+        return results;
+    }
+
+    /**
+     * Обрабатывает сообщения: разные clientId параллельно, сообщения одного clientId - по порядку.
+     * Ошибки обработки должны обрабатываться в task.
+     */
+    public void forEachOrdered(List<ApprovedRegisterUserDto> approvedRegisterUserDtos,
+                               Consumer<ApprovedRegisterUserDto> task) {
+        if (executor == null) {
+            approvedRegisterUserDtos.forEach(task);
+            return;
+        }
+        Map<UUID, List<ApprovedRegisterUserDto>> dtosByClientId = new LinkedHashMap<>();
+        approvedRegisterUserDtos.forEach(dto ->
+                dtosByClientId.computeIfAbsent(dto.getClientId(), clientId -> new ArrayList<>()).add(dto));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(dtosByClientId.size());
+        dtosByClientId.values().forEach(dtos ->
+                futures.add(CompletableFuture.runAsync(() -> dtos.forEach(task), executor)));
+        join(futures);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+        }
+    }
+
+    private static void join(Collection<? extends CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
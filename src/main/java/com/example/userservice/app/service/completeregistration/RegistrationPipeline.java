@@ -0,0 +1,161 @@
+package com.example.userservice.app.service.completeregistration;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.Approval;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.app.service.completeregistration.newclient.CompleteNewApprovedClientRegistrationService;
+import com.example.userservice.app.service.completeregistration.oldclient.CompleteOldApprovedClientRegistrationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Таблица обработчиков завершения регистрации ClientFlow x Approval.
+ * <p>
+ * Таблица строится один раз при старте из бинов CompleteNew/OldApprovedClientRegistrationService.
+ * Если для какой-то пары нет обработчика или их несколько, приложение не стартует,
+ * поэтому сообщения не теряются молча. Время работы каждого обработчика пишется в таймер
+ * registration.completion.duration с тегами flow, approval и mode (single/batch).
+ */
+@Slf4j
+@Component
+public class RegistrationPipeline {
+
+    private static final String TIMER_NAME = "registration.completion.duration";
+
+    private final Map<ClientFlow, Map<Approval, Handler>> handlers;
+
+    public RegistrationPipeline(Set<CompleteNewApprovedClientRegistrationService> newClientServices,
+                                Set<CompleteOldApprovedClientRegistrationService> oldClientServices,
+                                MeterRegistry meterRegistry) {
+        Map<ClientFlow, Map<Approval, Handler>> table = new EnumMap<>(ClientFlow.class);
+        for (ClientFlow clientFlow : ClientFlow.values()) {
+            table.put(clientFlow, new EnumMap<>(Approval.class));
+        }
+        newClientServices.forEach(s -> register(table, new Handler(ClientFlow.NEW, s.getType(),
+                s::completeNewApprovedClientRegistration, s::completeNewApprovedClientRegistrations, meterRegistry)));
+        oldClientServices.forEach(s -> register(table, new Handler(ClientFlow.OLD, s.getType(),
+                s::completeOldApprovedClientRegistration, s::completeOldApprovedClientRegistrations, meterRegistry)));
+        validate(table);
+        this.handlers = table;
+    }
+
+    /**
+     * Проверяет, что для сообщения есть обработчик, т.е. заполнены clientId, clientFlow и approval
+     */
+    public boolean supports(ApprovedRegisterUserDto approvedRegisterUserDto) {
+        return approvedRegisterUserDto != null
+                && approvedRegisterUserDto.getClientId() != null
+                && approvedRegisterUserDto.getClientFlow() != null
+                && approvedRegisterUserDto.getApproval() != null;
+    }
+
+    /**
+     * Завершает или отменяет регистрацию одного клиента
+     *
+     * @param approvedRegisterUserDto дто с результатом проверки клиента
+     * @throws IllegalArgumentException если в сообщении не заполнены поля, по которым выбирается обработчик
+     */
+    public void complete(ApprovedRegisterUserDto approvedRegisterUserDto) {
+        requireSupported(approvedRegisterUserDto);
+        log.debug("complete registration - {}", approvedRegisterUserDto);
+        handlers.get(approvedRegisterUserDto.getClientFlow()).get(approvedRegisterUserDto.getApproval())
+                .complete(approvedRegisterUserDto.getClientId());
+    }
+
+    /**
+     * Завершает или отменяет регистрацию пачки клиентов: по одному вызову обработчика на каждый Approval
+     *
+     * @param approvedRegisterUserDtos дто с результатами проверки клиентов
+     * @throws IllegalArgumentException если хотя бы в одном сообщении не заполнены поля,
+     *                                  по которым выбирается обработчик
+     */
+    public void completeAll(List<ApprovedRegisterUserDto> approvedRegisterUserDtos) {
+        approvedRegisterUserDtos.forEach(this::requireSupported);
+        Map<ClientFlow, Map<Approval, List<UUID>>> clientIds = new EnumMap<>(ClientFlow.class);
+        approvedRegisterUserDtos.forEach(dto -> clientIds
+                .computeIfAbsent(dto.getClientFlow(), clientFlow -> new EnumMap<>(Approval.class))
+                .computeIfAbsent(dto.getApproval(), approval -> new ArrayList<>())
+                .add(dto.getClientId()));
+        log.debug("complete registration for {} clients", approvedRegisterUserDtos.size());
+        clientIds.forEach((clientFlow, clientIdsByApproval) -> clientIdsByApproval.forEach((approval, ids) ->
+                handlers.get(clientFlow).get(approval).completeAll(ids)));
+    }
+
+    private void requireSupported(ApprovedRegisterUserDto approvedRegisterUserDto) {
+        if (!supports(approvedRegisterUserDto)) {
+            throw new IllegalArgumentException("No registration handler for message " + approvedRegisterUserDto);
+        }
+    }
+
+    private static void register(Map<ClientFlow, Map<Approval, Handler>> table, Handler handler) {
+        if (handler.approval == null) {
+            throw new IllegalStateException("Registration handler for " + handler.clientFlow + " has no approval type");
+        }
+        if (table.get(handler.clientFlow).putIfAbsent(handler.approval, handler) != null) {
+            throw new IllegalStateException("Duplicate registration handlers for "
+                    + handler.clientFlow + "/" + handler.approval);
+        }
+    }
+
+    private static void validate(Map<ClientFlow, Map<Approval, Handler>> table) {
+        List<String> missing = new ArrayList<>();
+        table.forEach((clientFlow, handlersByApproval) -> {
+            for (Approval approval : Approval.values()) {
+                if (!handlersByApproval.containsKey(approval)) {
+                    missing.add(clientFlow + "/" + approval);
+                }
+            }
+        });
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No registration handlers for " + missing);
+        }
+    }
+
+    private static final class Handler {
+
+        private final ClientFlow clientFlow;
+        private final Approval approval;
+        private final Consumer<UUID> single;
+        private final Consumer<Collection<UUID>> batch;
+        private final Timer singleTimer;
+        private final Timer batchTimer;
+
+        private Handler(ClientFlow clientFlow, Approval approval, Consumer<UUID> single,
+                        Consumer<Collection<UUID>> batch, MeterRegistry meterRegistry) {
+            this.clientFlow = clientFlow;
+            this.approval = approval;
+            this.single = single;
+            this.batch = batch;
+            this.singleTimer = timer(meterRegistry, clientFlow, approval, "single");
+            this.batchTimer = timer(meterRegistry, clientFlow, approval, "batch");
+        }
+
+        private void complete(UUID clientId) {
+            singleTimer.record(() -> single.accept(clientId));
+        }
+
+        private void completeAll(Collection<UUID> clientIds) {
+            batchTimer.record(() -> batch.accept(clientIds));
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, ClientFlow clientFlow, Approval approval,
+                                   String mode) {
+            return Timer.builder(TIMER_NAME)
+                    .tag("flow", clientFlow.name())
+                    .tag("approval", String.valueOf(approval))
+                    .tag("mode", mode)
+                    .register(meterRegistry);
+        }
+    }
+}
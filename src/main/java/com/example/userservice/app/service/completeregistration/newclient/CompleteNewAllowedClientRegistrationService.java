@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.UUID;
 
 @Slf4j
@@ -22,6 +23,12 @@ public class CompleteNewAllowedClientRegistrationService implements CompleteNewA
         clientService.changeClientStatus(clientId, ClientStatus.NOT_ACTIVE);
     }
 
+    @Override
+    public void completeNewApprovedClientRegistrations(Collection<UUID> clientIds) {
+        log.debug("complete new allowed client registration for {} clients", clientIds.size());
+        clientService.changeClientStatus(clientIds, ClientStatus.NOT_ACTIVE);
+    }
+
     @Override
     public Approval getType() {
         return Approval.ALLOWED;
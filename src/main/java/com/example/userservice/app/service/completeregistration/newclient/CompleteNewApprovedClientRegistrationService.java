@@ -2,6 +2,7 @@ package com.example.userservice.app.service.completeregistration.newclient;
 
 import com.example.userservice.app.kafka.dto.enums.Approval;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface CompleteNewApprovedClientRegistrationService {
@@ -14,6 +15,16 @@ public interface CompleteNewApprovedClientRegistrationService {
      */
     void completeNewApprovedClientRegistration(UUID clientId);
 
+    /**
+     * Метод завершает или отменяет регистрацию нескольких новых клиентов.
+     * По умолчанию клиенты обрабатываются по одному
+     *
+     * @param clientIds id клиентов
+     */
+    default void completeNewApprovedClientRegistrations(Collection<UUID> clientIds) {
+        clientIds.forEach(this::completeNewApprovedClientRegistration);
+    }
+
     /**
      * Метод получения типа операции сервиса
      * Approval.ALLOWED - успешное завершение регистрации
@@ -3,11 +3,16 @@ package com.example.userservice.app.service.completeregistration.oldclient;
 import com.example.userservice.app.enums.ClientStatus;
 import com.example.userservice.app.kafka.dto.enums.Approval;
 import com.example.userservice.app.service.ClientService;
+import com.example.userservice.app.service.completeregistration.RegistrationHandoffExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -16,6 +21,8 @@ public class CompleteOldAllowedClientRegistrationService implements CompleteOldA
 
     private final ClientService clientService;
 
+    private final RegistrationHandoffExecutor handoffExecutor;
+
     @Override
     public void completeOldApprovedClientRegistration(UUID clientId) {
         log.debug("complete old allowed client registration with id - {}", clientId);
@@ -26,6 +33,21 @@ public class CompleteOldAllowedClientRegistrationService implements CompleteOldA
         }
     }
 
+    /**
+     * Активные продукты проверяются для каждого клиента (параллельно, если включён handoff),
+     * статусы ACTIVE и NOT_ACTIVE выставляются двумя UPDATE
+     */
+    @Override
+    public void completeOldApprovedClientRegistrations(Collection<UUID> clientIds) {
+        log.debug("complete old allowed client registration for {} clients", clientIds.size());
+        Map<Boolean, List<UUID>> clientIdsByActiveProducts = handoffExecutor
+                .mapAll(clientIds, clientService::hasActiveProducts).entrySet().stream()
+                .collect(Collectors.partitioningBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        clientService.changeClientStatus(clientIdsByActiveProducts.get(true), ClientStatus.ACTIVE);
+        clientService.changeClientStatus(clientIdsByActiveProducts.get(false), ClientStatus.NOT_ACTIVE);
+    }
+
     @Override
     public Approval getType() {
         return Approval.ALLOWED;
@@ -2,6 +2,7 @@ package com.example.userservice.app.service.completeregistration.oldclient;
 
 import com.example.userservice.app.kafka.dto.enums.Approval;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface CompleteOldApprovedClientRegistrationService {
@@ -14,6 +15,16 @@ public interface CompleteOldApprovedClientRegistrationService {
      */
     void completeOldApprovedClientRegistration(UUID clientId);
 
+    /**
+     * Метод завершает или отменяет регистрацию нескольких старых клиентов.
+     * По умолчанию клиенты обрабатываются по одному
+     *
+     * @param clientIds id клиентов
+     */
+    default void completeOldApprovedClientRegistrations(Collection<UUID> clientIds) {
+        clientIds.forEach(this::completeOldApprovedClientRegistration);
+    }
+
     /**
      * Метод получения типа операции сервиса
      * Approval.ALLOWED - успешное завершение регистрации
@@ -0,0 +1,78 @@
+package com.example.userservice.app.service.fingerprint;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Хеш отпечатка для колонки fingerprint_hash: HMAC-SHA256 с ключом app.param.fingerprint.hashKey
+ * от clientId и отпечатка.
+ * <p>
+ * clientId служит солью, поэтому одинаковые отпечатки разных клиентов дают разные хеши. Отпечаток — это
+ * всего 6 цифр, перебрать их по утёкшей таблице без ключа нельзя, поэтому ключ хранится вне базы.
+ * При смене ключа сохранённые хеши перестают совпадать, и отпечатки нужно сохранить заново.
+ */
+@Component
+public class FingerprintHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final SecretKeySpec key;
+
+    public FingerprintHasher(@Value("${app.param.fingerprint.hashKey}") String hashKey) {
+        if (hashKey == null || hashKey.isBlank()) {
+            throw new IllegalArgumentException("app.param.fingerprint.hashKey must not be blank");
+        }
+        this.key = new SecretKeySpec(hashKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * Returns the hex encoded hash of the fingerprint of the client
+     */
+    public String hash(UUID clientId, String fingerprint) {
+        return HEX.formatHex(digest(clientId, fingerprint));
+    }
+
+    /**
+     * Compares two hashes in time that does not depend on where they differ
+     *
+     * @param fingerprintHash hash of the presented fingerprint from {@link #hash(UUID, String)}
+     * @param storedHash      hash from fingerprint_hash, may be null
+     * @return true if both hashes are the same
+     */
+    public boolean matches(String fingerprintHash, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(HEX.parseHex(fingerprintHash), HEX.parseHex(storedHash));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] digest(UUID clientId, String fingerprint) {
+        Mac mac;
+        try {
+            mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+        mac.update(ByteBuffer.allocate(16)
+                .putLong(clientId.getMostSignificantBits())
+                .putLong(clientId.getLeastSignificantBits())
+                .flip());
+        return mac.doFinal(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.userservice.app.service.impl;
 
+import com.example.userservice.app.cache.RegistrationInfoCache;
+import com.example.userservice.app.cache.UserInfoCache;
 import com.example.userservice.app.enums.ClientStatus;
-import com.example.userservice.app.feign.CreditServiceClient;
-import com.example.userservice.app.feign.DepositServiceClient;
 import com.example.userservice.app.kafka.dto.RegisterUserDto;
 import com.example.userservice.app.kafka.dto.enums.ClientFlow;
 import com.example.userservice.app.service.ClientService;
+import com.example.userservice.app.service.OutboxService;
+import com.example.userservice.app.service.ProductCheckService;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
+import com.example.userservice.persistence.projection.UserInfoView;
 import com.example.userservice.persistence.repository.ClientRepository;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
@@ -20,13 +23,11 @@ import com.example.userservice.web.dto.responses.UserInfoDto;
 import com.example.userservice.web.mapper.ClientMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -45,11 +46,13 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientMapper clientMapper;
 
-    private final CreditServiceClient creditServiceClient;
+    private final ProductCheckService productCheckService;
 
-    private final DepositServiceClient depositServiceClient;
+    private final OutboxService outboxService;
 
-    private final KafkaTemplate<String, RegisterUserDto> registerUserProducer;
+    private final RegistrationInfoCache registrationInfoCache;
+
+    private final UserInfoCache userInfoCache;
 
     @Override
     public Client findById(UUID id) throws SQLException {
@@ -71,8 +74,16 @@ public class ClientServiceImpl implements ClientService {
         return clientRepository.save(client);
     }
 
+    /**
+     * Registration status by the normalized mobile phone, served from {@link RegistrationInfoCache}.
+     * Every method changing the status or the contact of a client evicts the phone.
+     */
     @Override
     public RegistrationInfoDTO findByMobilePhone(String mobilePhone) {
+        return registrationInfoCache.get(mobilePhone, this::loadRegistrationInfo);
+    }
+
+    private RegistrationInfoDTO loadRegistrationInfo(String mobilePhone) {
         return contactRepository.findContactByMobilePhone(mobilePhone)
                 .map(this::mapContactToClient)
                 .orElse(new RegistrationInfoDTO(mobilePhone, ClientStatus.NOT_REGISTERED.name()));
@@ -84,41 +95,55 @@ public class ClientServiceImpl implements ClientService {
         Client client = clientMapper.toClient(nonClientDto);
         client.setClientStatus(ClientStatus.IN_PROCESSING);
         clientRepository.save(client);
-        registerUserProducer.send("register-user",
+        registrationInfoCache.evict(client.getContact().getMobilePhone());
+        outboxService.enqueueRegisterUser(
                 new RegisterUserDto(client.getId(), client.getContact().getEmail(), ClientFlow.NEW));
     }
 
+    /**
+     * Регистрация существующего клиента банка в приложении.
+     * Клиент загружается вместе с контактом и профилем одним запросом; он управляемый, поэтому новые
+     * контакт и профиль сохраняются каскадом при коммите, без merge и дозагрузки паспортных данных.
+     *
+     * @param clientDto данные для регистрации.
+     */
     @Override
     @Transactional
     public void clientRegistration(ClientDto clientDto) {
-        Client client = clientRepository.findById(clientDto.getId())
+        Client client = clientRepository.findWithContactAndUserProfileById(clientDto.getId())
                 .orElseThrow(() ->
                         new UnprocessableEntityException("non-existent client - " + clientDto.getId()));
 
+        if (client.getContact() != null) {
+            registrationInfoCache.evict(client.getContact().getMobilePhone());
+        }
         client.setContact(clientMapper.toContact(clientDto));
         client.setUserProfile(clientMapper.toUserProfile(clientDto));
         client.setClientStatus(ClientStatus.IN_PROCESSING);
-        clientRepository.save(client);
+        registrationInfoCache.evict(client.getContact().getMobilePhone());
+        userInfoCache.evict(client.getId());
     }
 
     /**
-     * Return the {@code UserInfoDto} representing information about the user from database
+     * Return the {@code UserInfoDto} representing information about the user, served from {@link UserInfoCache}.
+     * On a miss it is read with a single projection query. Every method changing the contact or the passport
+     * data of a client evicts it.
      *
      * @param clientId the {@code UUID} identification number of the bank's client
      * @return {@code UserInfoDto} result with information about the bank's client
      */
     @Override
     public UserInfoDto getUserInfoById(UUID clientId) {
-        Client client = clientRepository.findById(clientId).orElseThrow(
-                () -> new NotFoundException("Client Not Found: " + clientId));
+        UserInfoView userInfo = userInfoCache.get(clientId, id -> clientRepository.findUserInfoViewById(id)
+                .orElseThrow(() -> new NotFoundException("Client Not Found: " + id)));
 
         return UserInfoDto.builder()
-                .firstName(client.getFirstName())
-                .surname(client.getSurname())
-                .lastName(client.getLastName())
-                .passportNumber(client.getPassportData().getIdentificationPassportNumber())
-                .email(client.getContact().getEmail())
-                .mobilePhone(client.getContact().getMobilePhone())
+                .firstName(userInfo.firstName())
+                .surname(userInfo.surname())
+                .lastName(userInfo.lastName())
+                .passportNumber(userInfo.passportNumber())
+                .email(userInfo.email())
+                .mobilePhone(userInfo.mobilePhone())
                 .build();
     }
 
@@ -133,9 +158,28 @@ public class ClientServiceImpl implements ClientService {
     public void changeClientStatus(UUID clientId, ClientStatus clientStatus) {
         log.debug("changeClientStatus with id - {}, to {}", clientId, clientStatus);
         clientRepository.changeClientStatusById(clientId, clientStatus);
+        contactRepository.findMobilePhoneByClientId(clientId).ifPresent(registrationInfoCache::evict);
         log.debug("status have been changed");
     }
 
+    /**
+     * Изменение статуса нескольких клиентов одним UPDATE
+     *
+     * @param clientIds    уникальные идентификаторы клиентов.
+     * @param clientStatus новый статус клиентов.
+     */
+    @Override
+    @Transactional
+    public void changeClientStatus(Collection<UUID> clientIds, ClientStatus clientStatus) {
+        if (clientIds.isEmpty()) {
+            return;
+        }
+        log.debug("changeClientStatus for {} clients, to {}", clientIds.size(), clientStatus);
+        int updated = clientRepository.changeClientStatusByIds(clientIds, clientStatus);
+        contactRepository.findMobilePhonesByClientIds(clientIds).forEach(registrationInfoCache::evict);
+        log.debug("status have been changed for {} clients", updated);
+    }
+
     /**
      * Отмена регистрации клиента,
      * удаление его записей из таблиц Contact и userProfile
@@ -146,24 +190,26 @@ public class ClientServiceImpl implements ClientService {
     @Transactional
     public void cancelClientRegistration(UUID clientId) {
         log.debug("cancelClientRegistration with id - {}, remove contact and userProfile", clientId);
-        clientRepository.findById(clientId).ifPresentOrElse(client -> {
+        clientRepository.findWithContactAndUserProfileById(clientId).ifPresentOrElse(client -> {
+            registrationInfoCache.evict(client.getContact().getMobilePhone());
             contactRepository.deleteById(client.getContact().getId());
             client.setContact(null);
             client.setUserProfile(null);
             clientRepository.changeClientStatusById(clientId, ClientStatus.NOT_CLIENT);
+            userInfoCache.evict(clientId);
             log.debug("contact and userProfile have been deleted, status changed");
         }, () -> log.error("client with id - {} is not exist", clientId));
     }
 
     /**
      * Проверка наличия активных продуктов клиента по id
-     * в deposit-service и credit-service
+     * в deposit-service и credit-service, см. {@link ProductCheckService}
      *
      * @param clientId     уникальный идентификатор клиента.
      */
     @Override
     public boolean hasActiveProducts(UUID clientId) {
-        return (hasClientActiveCredits(clientId) || hasClientActiveDeposits(clientId));
+        return productCheckService.hasActiveProducts(clientId);
     }
 
     private RegistrationInfoDTO mapContactToClient(Contact contact) {
@@ -184,14 +230,4 @@ public class ClientServiceImpl implements ClientService {
 
         return infoDto;
     }
-
-    private boolean hasClientActiveCredits(UUID clientId) {
-        ResponseEntity checkClientCreditsResponse = creditServiceClient.checkClientCredits(clientId);
-        return checkClientCreditsResponse.getStatusCode().isSameCodeAs(HttpStatusCode.valueOf(200));
-    }
-
-    private boolean hasClientActiveDeposits(UUID clientId) {
-        ResponseEntity checkClientDepositsResponse = depositServiceClient.checkClientDeposits(clientId);
-        return checkClientDepositsResponse.getStatusCode().isSameCodeAs(HttpStatusCode.valueOf(200));
-    }
 }
@@ -1,5 +1,6 @@
 package com.example.userservice.app.service.impl;
 
+import com.example.userservice.app.cache.UserInfoCache;
 import com.example.userservice.app.service.ContactService;
 import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.persistence.repository.ContactRepository;
@@ -9,15 +10,16 @@ import com.example.userservice.web.controller.exception.DuplicateException;
 import com.example.userservice.web.controller.exception.NotFoundException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.dto.requests.EmailAndPassportDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
 import com.example.userservice.web.dto.responses.NotificationsInfoDto;
+import com.example.userservice.web.util.RequestValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static com.example.userservice.web.util.Constant.DUPLICATE_EMAIL_MSG;
@@ -34,6 +36,7 @@ public class ContactServiceImpl implements ContactService {
 
     private final ContactRepository contactRepository;
     private final PassportDataRepository passportDataRepository;
+    private final UserInfoCache userInfoCache;
 
     @Override
     public Contact findById(UUID id) throws SQLException {
@@ -63,43 +66,53 @@ public class ContactServiceImpl implements ContactService {
      */
     @Override
     public Boolean isExistPassportNumberAndEmail(EmailAndPassportDto dto) {
-        return contactRepository.findContactByEmail(dto.getEmail()).isPresent() ||
+        return contactRepository.findContactByEmail(RequestValidator.emailNormalize(dto.getEmail())).isPresent() ||
                 passportDataRepository.findPassportDataByIdentificationPassportNumber(dto.getPassportNumber())
                         .isPresent();
     }
 
     /**
-     * Method for changing email of client in {@code ContactRepository}
+     * Method for changing email of client in {@code ContactRepository} with a single conditional UPDATE.
+     * The email is normalized, uniqueness is left to the unique index on db_contacts.email, so concurrent
+     * changes to the same email can't both succeed.
      * If client not found or email been taken already then throwing exception.
      *
      * @param clientId - id of client, who change email
      * @param email    - a new e-mail
      */
-    @Transactional
+    @Override
     public void changeEmail(UUID clientId, String email) {
-        Contact contactFoundByClientId = findContactByClientId(clientId);
-        Optional<Contact> contactFoundByEmail = contactRepository.findContactByEmail(email);
-        if (contactFoundByEmail.isPresent()) {
-            throw new DuplicateException(DUPLICATE_EMAIL_MSG + email);
+        String normalizedEmail = RequestValidator.emailNormalize(email);
+        int updated;
+        try {
+            updated = contactRepository.updateEmailByClientId(clientId, normalizedEmail);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateException(DUPLICATE_EMAIL_MSG + normalizedEmail);
+        }
+        if (updated == 0) {
+            if (!contactRepository.existsByClient_Id(clientId)) {
+                throw new NotFoundException(USER_NOT_FOUND_MSG + clientId);
+            }
+            throw new DuplicateException(DUPLICATE_EMAIL_MSG + normalizedEmail);
         }
-        contactFoundByClientId.setEmail(email);
-        save(contactFoundByClientId);
-        log.info("E-mail for contact = {} changed", contactFoundByClientId);
+        userInfoCache.evict(clientId);
+        log.info("E-mail for client with ID = {} changed", clientId);
     }
 
     /**
      * Method for changing push notification status of client in {@code ContactRepository}
-     * If notification status already equals getting to method status, do nothing
+     * with a single UPDATE, without loading the contact.
      *
-     * @param contact            - contact of client, who change push notification status
+     * @param clientId           - id of client, who change push notification status
      * @param notificationStatus - true / false boolean to change push notification status
+     * @throws NotFoundException if contact of client not found
      */
-    public void changePushNotifications(Contact contact, Boolean notificationStatus) {
-        contact.setPushNotificationEnable(notificationStatus);
-        Contact contactFromRepository = contactRepository.save(contact);
-        if (contactFromRepository.equals(contact)) {
-            log.info("Push notifications for contact = {} changed to {}", contact, notificationStatus);
+    @Override
+    public void changePushNotifications(UUID clientId, Boolean notificationStatus) {
+        if (contactRepository.updateNotificationsByClientId(clientId, null, notificationStatus, null) == 0) {
+            throw new NotFoundException(USER_NOT_FOUND_MSG + clientId);
         }
+        log.info("Push notifications for client with ID = {} changed to {}", clientId, notificationStatus);
     }
 
     /**
@@ -132,10 +145,58 @@ public class ContactServiceImpl implements ContactService {
 
     @Override
     public void changeSmsNotifications(UUID clientId, Boolean notificationStatus) {
-        Contact contact = contactRepository.findContactByClient_Id(clientId)
-                .orElseThrow(() -> new BadRequestException(USER_NOT_FOUND_MSG + clientId));
+        if (contactRepository.updateNotificationsByClientId(clientId, notificationStatus, null, null) == 0) {
+            throw new BadRequestException(USER_NOT_FOUND_MSG + clientId);
+        }
+    }
+
+    /**
+     * Method for changing email notification status of client in {@code ContactRepository}
+     * with a single UPDATE, without loading the contact.
+     *
+     * @param clientId           - id of client, who change email notification status
+     * @param notificationStatus - true / false boolean to change email notification status
+     * @throws NotFoundException   if contact of client not found
+     * @throws BadRequestException if contact has no email or already has this status
+     */
+    @Override
+    public void changeEmailNotifications(UUID clientId, Boolean notificationStatus) {
+        if (contactRepository.updateEmailNotificationByClientId(clientId, notificationStatus) == 0) {
+            if (!contactRepository.existsByClient_Id(clientId)) {
+                throw new NotFoundException(USER_NOT_FOUND_MSG + clientId);
+            }
+            log.error("Can't change email notification for client with ID = {} to {}", clientId, notificationStatus);
+            throw new BadRequestException(String.format("Can't change email notification for client = %s " +
+                    "by status = %s", clientId, notificationStatus));
+        }
+        log.info("Email notifications for client with ID = {} changed to {}", clientId, notificationStatus);
+    }
+
+    /**
+     * Method for changing any of notification statuses of client in {@code ContactRepository}
+     * with a single UPDATE, absent statuses stay unchanged.
+     *
+     * @param clientId                - id of client, who change notification statuses
+     * @param notificationSettingsDto - statuses to change
+     * @throws BadRequestException if no status passed or email notifications enabled for contact without email
+     * @throws NotFoundException   if contact of client not found
+     */
+    @Override
+    public void changeNotifications(UUID clientId, NotificationSettingsDto notificationSettingsDto) {
+        Boolean smsNotification = notificationSettingsDto.getSmsNotification();
+        Boolean pushNotification = notificationSettingsDto.getPushNotification();
+        Boolean emailSubscription = notificationSettingsDto.getEmailSubscription();
+        if (smsNotification == null && pushNotification == null && emailSubscription == null) {
+            throw new BadRequestException("No notification settings passed");
+        }
 
-        contact.setSmsNotificationEnable(notificationStatus);
-        contactRepository.save(contact);
+        if (contactRepository.updateNotificationsByClientId(clientId, smsNotification, pushNotification,
+                emailSubscription) == 0) {
+            if (!contactRepository.existsByClient_Id(clientId)) {
+                throw new NotFoundException(USER_NOT_FOUND_MSG + clientId);
+            }
+            throw new BadRequestException("Can't change email notification for client without email, id = " + clientId);
+        }
+        log.info("Notifications for client with ID = {} changed to {}", clientId, notificationSettingsDto);
     }
 }
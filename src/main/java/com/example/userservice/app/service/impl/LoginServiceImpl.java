@@ -2,8 +2,7 @@ package com.example.userservice.app.service.impl;
 
 import com.example.userservice.app.service.LoginService;
 import com.example.userservice.app.service.UserProfileService;
-import com.example.userservice.persistence.model.Contact;
-import com.example.userservice.persistence.model.PassportData;
+import com.example.userservice.persistence.projection.LoginView;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.persistence.repository.PassportDataRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
@@ -32,30 +31,33 @@ public class LoginServiceImpl implements LoginService {
     }
 
     private UUID loginByPassportNumber(LoginRequestDto loginDataDto) {
-        PassportData passportData = passportDataRepository
-                .findPassportDataByIdentificationPassportNumber(loginDataDto.getLogin()).orElseThrow(
+        LoginView loginView = passportDataRepository
+                .findLoginViewByPassportNumber(loginDataDto.getLogin()).orElseThrow(
                         () -> new UnprocessableEntityException("The record was not found")
                 );
 
-        if (userProfileService
-                .passwordExists(passportData.getClient().getId(), loginDataDto.getPassword())) {
-            return passportData.getClient().getId();
+        if (passwordMatches(loginView, loginDataDto)) {
+            return loginView.clientId();
         } else {
             throw new BadRequestException("Invalid password number");
         }
     }
 
     private UUID loginByPhoneNumber(LoginRequestDto loginDataDto) {
-        Contact contact = contactRepository
-                .findContactByMobilePhone(loginDataDto.getLogin()).orElseThrow(
+        LoginView loginView = contactRepository
+                .findLoginViewByMobilePhone(loginDataDto.getLogin()).orElseThrow(
                         () -> new UnprocessableEntityException("The record was not found")
                 );
 
-        if (userProfileService
-                .passwordExists(contact.getClient().getId(), loginDataDto.getPassword())) {
-            return contact.getClient().getId();
+        if (passwordMatches(loginView, loginDataDto)) {
+            return loginView.clientId();
         } else {
             throw new BadRequestException("Invalid phone number");
         }
     }
+
+    private boolean passwordMatches(LoginView loginView, LoginRequestDto loginDataDto) {
+        return userProfileService.passwordMatches(loginView.clientId(), loginView.passwordEncoded(),
+                loginDataDto.getPassword());
+    }
 }
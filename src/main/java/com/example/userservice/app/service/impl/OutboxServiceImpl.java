@@ -0,0 +1,39 @@
+package com.example.userservice.app.service.impl;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+import com.example.userservice.app.service.OutboxService;
+import com.example.userservice.persistence.model.OutboxMessage;
+import com.example.userservice.persistence.repository.OutboxMessageRepository;
+import com.example.userservice.web.controller.exception.InternalServerException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    public static final String REGISTER_USER_TOPIC = "register-user";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueRegisterUser(RegisterUserDto registerUserDto) {
+        String key = registerUserDto.getClientId() == null ? null : registerUserDto.getClientId().toString();
+        try {
+            outboxMessageRepository.save(new OutboxMessage(REGISTER_USER_TOPIC, key,
+                    objectMapper.writeValueAsString(registerUserDto)));
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException("Could not serialize message for " + REGISTER_USER_TOPIC);
+        }
+        log.debug("message for client with id - {} saved to outbox", key);
+    }
+}
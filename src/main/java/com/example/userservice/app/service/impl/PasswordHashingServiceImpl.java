@@ -0,0 +1,151 @@
+package com.example.userservice.app.service.impl;
+
+import com.example.userservice.app.service.PasswordHashingService;
+import com.example.userservice.web.controller.exception.InternalServerException;
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt hashing with the cost taken from {@code app.param.password.strength}.
+ * <p>
+ * With {@code app.param.password.executor.enabled} the hashing runs on a bounded pool,
+ * so at most {@code poolSize} request threads burn CPU on bcrypt at the same time; when the
+ * queue is full or the wait exceeds {@code timeout} milliseconds the request gets 503.
+ */
+@Service
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final String HASH_TIMER = "password.hash.duration";
+    private static final String OPERATION_TAG = "operation";
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingServiceImpl(@Value("${app.param.password.strength:10}") int strength,
+                                      @Value("${app.param.password.executor.enabled:false}") boolean executorEnabled,
+                                      @Value("${app.param.password.executor.poolSize:4}") int poolSize,
+                                      @Value("${app.param.password.executor.queueCapacity:100}") int queueCapacity,
+                                      @Value("${app.param.password.executor.timeout:2000}") long timeoutMillis,
+                                      MeterRegistry meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = executorEnabled ? createExecutor(poolSize, queueCapacity) : null;
+
+        this.encodeTimer = Timer.builder(HASH_TIMER).tag(OPERATION_TAG, "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_TIMER).tag(OPERATION_TAG, "matches").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected").register(meterRegistry);
+        if (executor != null) {
+            Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+            Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        }
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return execute(() -> encoder.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> encoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> T execute(Callable<T> task, Timer timer) {
+        Callable<T> timedTask = () -> timer.recordCallable(task);
+        if (executor == null) {
+            return call(timedTask);
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(timedTask);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many password checks in progress, try again later");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many password checks in progress, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("Password check was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InternalServerException("Password check failed");
+        }
+    }
+
+    private <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InternalServerException("Password check failed");
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(int poolSize, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
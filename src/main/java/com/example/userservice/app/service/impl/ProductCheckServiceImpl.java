@@ -0,0 +1,207 @@
+package com.example.userservice.app.service.impl;
+
+import com.example.userservice.app.feign.CreditServiceClient;
+import com.example.userservice.app.feign.DepositServiceClient;
+import com.example.userservice.app.service.ProductCheckService;
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Credit and deposit checks run concurrently on a dedicated pool, so the latency is the slower
+ * of the two calls rather than their sum; the first positive answer completes the check.
+ * <p>
+ * Each downstream is wrapped in a semaphore bulkhead and a circuit breaker
+ * ({@code app.param.productCheck.*}); connect and read timeouts are set per Feign client
+ * under {@code spring.cloud.openfeign.client.config}. 404 means "no products" and is not a failure.
+ * If neither service answers positively and at least one failed, is rejected or exceeds
+ * {@code timeout}, the check fails with 503. Answers are cached per client for {@code cacheTtl} seconds.
+ */
+@Service
+@Slf4j
+public class ProductCheckServiceImpl implements ProductCheckService {
+
+    private static final String CREDIT_SERVICE = "credit-service";
+    private static final String DEPOSIT_SERVICE = "deposit-service";
+
+    private final Downstream credits;
+    private final Downstream deposits;
+    private final ExecutorService executor;
+    private final Cache<UUID, Boolean> cache;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    public ProductCheckServiceImpl(CreditServiceClient creditServiceClient,
+                                   DepositServiceClient depositServiceClient,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.param.productCheck.timeout:3000}") long timeoutMillis,
+                                   @Value("${app.param.productCheck.parallelism:32}") int parallelism,
+                                   @Value("${app.param.productCheck.cacheTtl:30}") long cacheTtlSeconds,
+                                   @Value("${app.param.productCheck.cacheMaximumSize:10000}") long cacheMaximumSize,
+                                   @Value("${app.param.productCheck.bulkheadMaxConcurrentCalls:16}") int maxConcurrentCalls,
+                                   @Value("${app.param.productCheck.failureRateThreshold:50}") float failureRateThreshold,
+                                   @Value("${app.param.productCheck.slidingWindowSize:20}") int slidingWindowSize,
+                                   @Value("${app.param.productCheck.openStateDuration:10}") long openStateSeconds) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(slidingWindowSize, 10))
+                .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        this.credits = new Downstream(CREDIT_SERVICE, creditServiceClient::checkClientCredits,
+                circuitBreakerRegistry, bulkheadRegistry);
+        this.deposits = new Downstream(DEPOSIT_SERVICE, depositServiceClient::checkClientDeposits,
+                circuitBreakerRegistry, bulkheadRegistry);
+        this.timeoutMillis = timeoutMillis;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "product-check-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-check");
+    }
+
+    @Override
+    public boolean hasActiveProducts(UUID clientId) {
+        Boolean cached = cache.getIfPresent(clientId);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        boolean hasActiveProducts = check(clientId);
+        cache.put(clientId, hasActiveProducts);
+        Timer.builder("product.check.duration")
+                .tag("result", String.valueOf(hasActiveProducts))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return hasActiveProducts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean check(UUID clientId) {
+        CompletableFuture<Boolean> creditCheck = CompletableFuture.supplyAsync(credits.check(clientId), executor);
+        CompletableFuture<Boolean> depositCheck = CompletableFuture.supplyAsync(deposits.check(clientId), executor);
+        CompletableFuture<Boolean> anyPositive = new CompletableFuture<>();
+        creditCheck.thenAccept(result -> completeIfPositive(anyPositive, result));
+        depositCheck.thenAccept(result -> completeIfPositive(anyPositive, result));
+        CompletableFuture.allOf(creditCheck, depositCheck).whenComplete((ignored, e) -> {
+            if (isPositive(creditCheck) || isPositive(depositCheck)) {
+                anyPositive.complete(Boolean.TRUE);
+            } else {
+                anyPositive.complete(e == null ? Boolean.FALSE : null);
+            }
+        });
+        try {
+            Boolean result = anyPositive.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (result != null) {
+                return result;
+            }
+            logFailure(clientId, CREDIT_SERVICE, creditCheck);
+            logFailure(clientId, DEPOSIT_SERVICE, depositCheck);
+            throw new ServiceUnavailableException("Product services are not available, try again later");
+        } catch (TimeoutException e) {
+            log.warn("Product check for client with ID {} timed out after {} ms", clientId, timeoutMillis);
+            throw new ServiceUnavailableException("Product services are not available, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Product check interrupted");
+        } catch (ExecutionException e) {
+            throw new ServiceUnavailableException("Product services are not available, try again later");
+        }
+    }
+
+    private static void completeIfPositive(CompletableFuture<Boolean> anyPositive, boolean result) {
+        if (result) {
+            anyPositive.complete(Boolean.TRUE);
+        }
+    }
+
+    private static boolean isPositive(CompletableFuture<Boolean> check) {
+        return !check.isCompletedExceptionally() && Boolean.TRUE.equals(check.getNow(Boolean.FALSE));
+    }
+
+    private static void logFailure(UUID clientId, String service, CompletableFuture<Boolean> check) {
+        try {
+            check.join();
+        } catch (CompletionException e) {
+            log.warn("{} check for client with ID {} failed", service, clientId, e.getCause());
+        }
+    }
+
+    private static final class Downstream {
+
+        private final Function<UUID, ResponseEntity<?>> call;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+
+        private Downstream(String name, Function<UUID, ResponseEntity<?>> call,
+                           CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+            this.call = call;
+            this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+            this.bulkhead = bulkheadRegistry.bulkhead(name);
+        }
+
+        private Supplier<Boolean> check(UUID clientId) {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, () -> hasProducts(clientId)));
+        }
+
+        private boolean hasProducts(UUID clientId) {
+            try {
+                return call.apply(clientId).getStatusCode().isSameCodeAs(HttpStatus.OK);
+            } catch (FeignException.NotFound e) {
+                return false;
+            }
+        }
+    }
+}
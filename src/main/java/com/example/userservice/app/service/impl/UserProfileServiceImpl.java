@@ -1,9 +1,13 @@
 package com.example.userservice.app.service.impl;
 
+import com.example.userservice.app.cache.FingerprintRejectionCache;
 import com.example.userservice.app.enums.AuthorizationType;
+import com.example.userservice.app.service.PasswordHashingService;
 import com.example.userservice.app.service.UserProfileService;
+import com.example.userservice.app.service.fingerprint.FingerprintHasher;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.UserProfile;
+import com.example.userservice.persistence.projection.FingerprintView;
 import com.example.userservice.persistence.repository.ClientRepository;
 import com.example.userservice.persistence.repository.UserProfileRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
@@ -16,10 +20,11 @@ import com.example.userservice.web.dto.responses.AuthorizationOutgoingDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -30,12 +35,16 @@ import java.util.UUID;
 @Slf4j
 public class UserProfileServiceImpl implements UserProfileService {
 
-    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
-
     private final UserProfileRepository userProfileRepository;
 
     private final ClientRepository clientRepository;
 
+    private final PasswordHashingService passwordHashingService;
+
+    private final FingerprintHasher fingerprintHasher;
+
+    private final FingerprintRejectionCache fingerprintRejectionCache;
+
     private static final String BIOMETRICS = "biometrics";
     private static final String PINCODE = "pincode";
     private static final String LOGPASS = "logpass";
@@ -81,7 +90,7 @@ public class UserProfileServiceImpl implements UserProfileService {
     }
 
     private HttpStatus encodeAndSavePassword(UserProfile userProfile, String password) {
-        userProfile.setPasswordEncoded(ENCODER.encode(password));
+        userProfile.setPasswordEncoded(passwordHashingService.encode(password));
         try {
             userProfileRepository.save(userProfile);
             return HttpStatus.OK;
@@ -113,14 +122,44 @@ public class UserProfileServiceImpl implements UserProfileService {
      *
      * @param id          The UUID identifying the user to check the password for.
      * @param oldPassword The old password to verify against the stored password.
+     * If the password matches but was hashed with a cost other than the configured one,
+     * the stored hash is transparently replaced with a new one.
+     *
      * @return true if the provided old password matches the stored password, false otherwise.
      */
     @Override
     public boolean passwordExists(UUID id, String oldPassword) {
         UserProfile userProfile = userProfileRepository.findUserProfileByClientId(id);
 
-        String oldPasswordInDB = userProfile.getPasswordEncoded();
-        return ENCODER.matches(oldPassword, oldPasswordInDB);
+        return passwordMatches(id, userProfile.getPasswordEncoded(), oldPassword);
+    }
+
+    /**
+     * Checks the password against a hash the caller has already read, e.g. from a login projection.
+     * Upgrades the stored hash the same way as {@link #passwordExists(UUID, String)}.
+     *
+     * @param clientId        The UUID of the client the hash belongs to.
+     * @param passwordEncoded The stored password hash.
+     * @param password        The password to verify.
+     * @return true if the password matches the hash, false otherwise.
+     */
+    @Override
+    public boolean passwordMatches(UUID clientId, String passwordEncoded, String password) {
+        boolean matches = passwordHashingService.matches(password, passwordEncoded);
+        if (matches && passwordHashingService.needsRehash(passwordEncoded)) {
+            rehashPassword(clientId, password, passwordEncoded);
+        }
+        return matches;
+    }
+
+    private void rehashPassword(UUID clientId, String password, String oldPasswordEncoded) {
+        try {
+            userProfileRepository.updatePasswordEncodedByClientId(clientId, oldPasswordEncoded,
+                    passwordHashingService.encode(password));
+            log.info("Password hash for client with ID {} upgraded", clientId);
+        } catch (RuntimeException e) {
+            log.warn("Password hash upgrade failed for client with ID {}", clientId, e);
+        }
     }
 
     /**
@@ -178,27 +217,92 @@ public class UserProfileServiceImpl implements UserProfileService {
         }
     }
 
+    /**
+     * Saves the hash of the fingerprint in place of the fingerprint itself.
+     */
     @Override
     public HttpStatus saveFingerprint(UUID clientId, String fingerprint) {
         Optional<Client> clientOptional = clientRepository.findById(clientId);
         if (clientOptional.isEmpty()) {
             throw new NotFoundException("Client not found for client with ID:" + clientId);
         }
+        String fingerprintHash = fingerprintHasher.hash(clientId, fingerprint);
         Optional<UserProfile> userProfileOptional = userProfileRepository.findByClientId(clientId);
         userProfileOptional.ifPresent(userProfile -> {
-            userProfile.setFingerprint(fingerprint);
+            userProfile.setFingerprintHash(fingerprintHash);
+            userProfile.setFingerprint(null);
             userProfileRepository.save(userProfile);
+            fingerprintRejectionCache.evict(clientId, fingerprintHash);
         });
         userProfileOptional.orElseThrow(() -> new NotFoundException("User profile not found for client with ID " + clientId));
         return HttpStatus.OK;
     }
 
+    /**
+     * Authorization by fingerprint.
+     * Reads the stored hash with a single query by the client id and compares it with the hash of the
+     * presented fingerprint in constant time. A fingerprint saved before hashing is compared as is and
+     * replaced with its hash on success. Rejections are remembered for a short time, so repeating them
+     * does not reach the database.
+     *
+     * @param clientId    client id from the request header.
+     * @param fingerprint validated fingerprint.
+     * @return dto with the client id.
+     * @throws BadRequestException if the client id is malformed, the client has no fingerprint
+     *                             or the fingerprint does not match.
+     */
     @Override
     public AuthResponseDto authorizationByFingerprint(String clientId, String fingerprint) {
-        Optional<Client> clientOptional = clientRepository.findById(UUID.fromString(clientId));
-        return clientOptional.flatMap(userProfileRepository::findUserProfileByClient)
-                .filter(userProfile -> userProfile.getFingerprint().equals(fingerprint))
-                .map(userProfile -> new AuthResponseDto(userProfile.getClient().getId()))
-                .orElseThrow(() -> new BadRequestException("Incorrect data entered"));
+        UUID id = parseClientId(clientId);
+        String fingerprintHash = fingerprintHasher.hash(id, fingerprint);
+        if (fingerprintRejectionCache.isRejected(id, fingerprintHash)) {
+            throw incorrectData();
+        }
+
+        Optional<FingerprintView> fingerprintView = userProfileRepository.findFingerprintViewByClientId(id);
+        if (fingerprintView.isEmpty() || fingerprintView.get().fingerprintHash() == null
+                && fingerprintView.get().legacyFingerprint() == null) {
+            fingerprintRejectionCache.rejectClient(id);
+            throw incorrectData();
+        }
+        if (!fingerprintMatches(id, fingerprint, fingerprintHash, fingerprintView.get())) {
+            fingerprintRejectionCache.rejectFingerprint(id, fingerprintHash);
+            throw incorrectData();
+        }
+        return new AuthResponseDto(id);
+    }
+
+    private boolean fingerprintMatches(UUID clientId, String fingerprint, String fingerprintHash,
+                                       FingerprintView fingerprintView) {
+        if (fingerprintView.fingerprintHash() != null) {
+            return fingerprintHasher.matches(fingerprintHash, fingerprintView.fingerprintHash());
+        }
+        boolean matches = MessageDigest.isEqual(fingerprint.getBytes(StandardCharsets.UTF_8),
+                fingerprintView.legacyFingerprint().getBytes(StandardCharsets.UTF_8));
+        if (matches) {
+            hashLegacyFingerprint(clientId, fingerprint, fingerprintHash);
+        }
+        return matches;
+    }
+
+    private void hashLegacyFingerprint(UUID clientId, String fingerprint, String fingerprintHash) {
+        try {
+            userProfileRepository.updateFingerprintHashByClientId(clientId, fingerprint, fingerprintHash);
+            log.info("Fingerprint of client with ID {} replaced with its hash", clientId);
+        } catch (RuntimeException e) {
+            log.warn("Fingerprint hashing failed for client with ID {}", clientId, e);
+        }
+    }
+
+    private static UUID parseClientId(String clientId) {
+        try {
+            return UUID.fromString(clientId);
+        } catch (IllegalArgumentException e) {
+            throw incorrectData();
+        }
+    }
+
+    private static BadRequestException incorrectData() {
+        return new BadRequestException("Incorrect data entered");
     }
 }
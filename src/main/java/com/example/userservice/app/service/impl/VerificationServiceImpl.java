@@ -1,28 +1,26 @@
 package com.example.userservice.app.service.impl;
 
 import com.example.userservice.app.service.VerificationService;
+import com.example.userservice.app.service.codedelivery.CodeDispatcher;
+import com.example.userservice.app.service.codegeneration.VerificationCodeGenerator;
 import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.projection.VerificationAttempt;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.persistence.repository.VerificationRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
-import com.example.userservice.web.controller.exception.ClientNotFoundException;
 import com.example.userservice.web.controller.exception.ForbiddenException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.controller.exception.ViolationBlockingPeriodException;
 import com.example.userservice.web.dto.responses.AuthResponseDto;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
-
-import static java.time.Duration.between;
 
 @Service
 @RequiredArgsConstructor
@@ -33,13 +31,25 @@ public class VerificationServiceImpl implements VerificationService {
 
     private final ContactRepository contactRepository;
 
+    private final CodeDispatcher codeDispatcher;
+
+    private final VerificationCodeGenerator verificationCodeGenerator;
+
+    @Value("${app.param.verification.numberOfAttempts:3}")
+    private int numberOfAttempts;
+
+    @Value("${app.param.verification.blockingTime:10}")
+    private long blockingTime;
+
+    @Value("${app.param.verification.codeLifetime:5}")
+    private long codeLifetime;
+
     public Optional<Verification> findById(String mobilePhone) {
         return verificationRepository.findById(mobilePhone);
     }
 
     public List<Verification> findAll() {
-        return StreamSupport.stream(verificationRepository.findAll().spliterator(), false)
-                .toList();
+        return verificationRepository.findAll();
     }
 
     public void deleteById(String mobilePhone) {
@@ -70,120 +80,66 @@ public class VerificationServiceImpl implements VerificationService {
     }
 
     public AuthResponseDto verifyByMobilePhoneAndVerificationCodeWithAuth(String mobilePhone, String verificationCode) {
-        if (contactRepository.findContactByMobilePhone(mobilePhone).isEmpty()) {
-            throw new UnprocessableEntityException("The phone number was not found");
-        }
+        Contact contact = contactRepository.findContactByMobilePhone(mobilePhone)
+                .orElseThrow(() -> new UnprocessableEntityException("The phone number was not found"));
 
-        Verification verification = getVerification(mobilePhone);
+        attempt(mobilePhone, verificationCode);
 
-        return checkClientsBlockAndGenerateAuthResponseDto(verification, verificationCode);
+        return new AuthResponseDto(contact.getClient().getId());
     }
 
     @Override
     public AuthResponseDto verifyByPassportNumberAndVerificationCodeWithAuth(String passportNumber, String verificationCode) {
-        Optional<Contact> optional = contactRepository.findByClient_PassportData_IdentificationPassportNumber(passportNumber);
-        String mobilePhone = optional.map(Contact::getMobilePhone).orElseThrow(() -> new UnprocessableEntityException("The passport number was not found"));
+        Contact contact = contactRepository.findByClient_PassportData_IdentificationPassportNumber(passportNumber)
+                .orElseThrow(() -> new UnprocessableEntityException("The passport number was not found"));
+        if (contact.getMobilePhone() == null || contact.getMobilePhone().isEmpty()) {
+            throw new UnprocessableEntityException("Mobile phone number is missing or empty");
+        }
 
-        Verification verification = getVerification(mobilePhone);
+        attempt(contact.getMobilePhone(), verificationCode);
 
-        return checkClientsBlockAndGenerateAuthResponseDto(verification, verificationCode);
+        return new AuthResponseDto(contact.getClient().getId());
     }
 
     public void verifyByMobilePhoneAndVerificationCode(String mobilePhone, String verificationCode) {
-        Verification verification = getVerification(mobilePhone);
-
-        checkClientsBlock(verification, verificationCode);
-    }
-
-    private Verification getVerification(String mobilePhone) {
-        return verificationRepository.findById(mobilePhone)
-                .orElseThrow(() -> {
-                    generateCodeByMobilePhone(mobilePhone);
-                    return new UnprocessableEntityException("The verification code does not exist");
-                });
-    }
-
-    private void checkClientsBlock(Verification verification, String verificationCode) {
-        if (verification.getBlockExpiration() != null) {
-            checkBlockingPeriodHasExpired(verification);
-        } else {
-            verification.setVerificationAttempts(verification.getVerificationAttempts() + 1);
-            verificationRepository.save(verification);
-            if (verificationCode.equals(verification.getVerificationCode())) {
-                verificationRepository.deleteById(verification.getMobilePhone());
-            } else {
-                checkVerificationAttempts(verification);
-            }
+        attempt(mobilePhone, verificationCode);
+    }
+
+    /**
+     * Проверяет код одним атомарным запросом в Redis (блокировка, сравнение кода, счётчик попыток)
+     * и переводит результат в исключения. Возвращается без исключения только при совпадении кода.
+     * Код другой длины, чем выдаёт генератор, отклоняется без запроса в Redis и не тратит попытку.
+     */
+    private void attempt(String mobilePhone, String verificationCode) {
+        if (verificationCode.length() != verificationCodeGenerator.length()) {
+            throw new BadRequestException(String.format("A verification code must consist of %d digits",
+                    verificationCodeGenerator.length()));
         }
-    }
+        VerificationAttempt attempt = verificationRepository.attempt(mobilePhone, verificationCode, numberOfAttempts,
+                Duration.ofMinutes(blockingTime));
 
-    private AuthResponseDto checkClientsBlockAndGenerateAuthResponseDto(Verification verification, String verificationCode) {
-        if (verification.getBlockExpiration() != null) {
-            checkBlockingPeriodHasExpired(verification);
-        } else {
-            verification.setVerificationAttempts(verification.getVerificationAttempts() + 1);
-            verificationRepository.save(verification);
-            if (verificationCode.equals(verification.getVerificationCode())) {
-                AuthResponseDto authResponseDto = new AuthResponseDto(
-                        contactRepository.findContactByMobilePhone(verification.getMobilePhone())
-                                .orElseThrow(() -> new ClientNotFoundException(verification.getMobilePhone()))
-                                .getClient().getId());
-                verificationRepository.deleteById(verification.getMobilePhone());
-
-                return authResponseDto;
-            } else {
-                checkVerificationAttempts(verification);
+        switch (attempt.status()) {
+            case MATCHED -> {
             }
-        }
-
-        return null;
-    }
-
-    private void checkBlockingPeriodHasExpired(Verification verification) {
-        if (verification.getBlockExpiration().isAfter(LocalDateTime.now())) {
-            throw new ForbiddenException("The blocking period has not expired", verification.getBlockExpiration());
-        } else {
-            String mobilePhone = verification.getMobilePhone();
-            verificationRepository.deleteById(verification.getMobilePhone());
-            generateCodeById(mobilePhone);
-            throw new UnprocessableEntityException("The blocking period has expired");
-        }
-    }
-
-    private void checkVerificationAttempts(Verification verification) {
-        if (verification.getVerificationAttempts() == 3) {
-            verification.setBlockExpiration(LocalDateTime.now().plusMinutes(10));
-            verificationRepository.save(verification);
-            throw new ForbiddenException("The attempts are over", verification.getBlockExpiration());
-        } else {
-            throw new BadRequestException("Incorrect verification code");
-        }
-    }
-
-    private void generateCodeById(String mobilePhone) {
-        Optional<Verification> ver = verificationRepository.findById(mobilePhone);
-        if (ver.isPresent()) {
-            Verification verification = ver.get();
-            if (verification.getBlockExpiration() == null ||
-                    verification.getBlockExpiration().isBefore(LocalDateTime.now())) {
-                verification.setVerificationCode(generateVerificationCode());
-                verification.setCodeLifetime(LocalDateTime.now());
-                verificationRepository.save(verification);
-            } else {
-                Duration duration = between(verification.getBlockExpiration(), LocalDateTime.now());
-                throw new ViolationBlockingPeriodException(duration.toSeconds() +
-                        " seconds - Until the end of the blocking");
+            case WRONG_CODE -> throw new BadRequestException("Incorrect verification code");
+            case ATTEMPTS_EXHAUSTED -> throw new ForbiddenException("The attempts are over", attempt.blockExpiration());
+            case BLOCKED -> throw new ForbiddenException("The blocking period has not expired",
+                    attempt.blockExpiration());
+            case NOT_FOUND -> {
+                generateCodeByMobilePhone(mobilePhone);
+                throw new UnprocessableEntityException("The verification code does not exist");
             }
-        } else {
-            Verification newVerification = new Verification(
-                    mobilePhone, generateVerificationCode(), null, 0, LocalDateTime.now());
-            verificationRepository.save(newVerification);
         }
     }
 
-    private String generateVerificationCode() {
-        int verificationCodeLength = 6;
-        return RandomStringUtils.randomNumeric(verificationCodeLength);
+    private void generateCodeById(String mobilePhone) {
+        String code = verificationCodeGenerator.next();
+        verificationRepository.saveCode(mobilePhone, code, Duration.ofMinutes(codeLifetime))
+                .ifPresent(blocked -> {
+                    throw new ViolationBlockingPeriodException(blocked.toSeconds() +
+                            " seconds - Until the end of the blocking");
+                });
+        codeDispatcher.dispatch(mobilePhone, code);
     }
 }
 
@@ -1,24 +1,55 @@
 package com.example.userservice.persistence.config;
 
+import io.lettuce.core.resource.ClientResources;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 @Configuration
-@EnableRedisRepositories
 public class RedisConfig {
 
+    /**
+     * Обычные команды идут через одно общее соединение, а pipeline и транзакциям Lettuce нужно выделенное.
+     * Без пула выделенное соединение открывается заново на каждый pipeline, поэтому они берутся из пула.
+     * ClientResources - из автоконфигурации Spring Boot, с ними подключается запись задержек команд
+     * (lettuce.command.completion, lettuce.command.firstresponse).
+     */
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties) {
-        return new LettuceConnectionFactory(redisProperties.getHost(), redisProperties.getPort());
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties,
+                                                           ClientResources clientResources,
+                                                           @Value("${app.param.redis.pool.maxActive:16}") int maxActive,
+                                                           @Value("${app.param.redis.pool.maxIdle:16}") int maxIdle,
+                                                           @Value("${app.param.redis.pool.minIdle:2}") int minIdle) {
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(maxActive);
+        poolConfig.setMaxIdle(maxIdle);
+        poolConfig.setMinIdle(minIdle);
+        return new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort()),
+                LettucePoolingClientConfiguration.builder()
+                        .clientResources(clientResources)
+                        .poolConfig(poolConfig)
+                        .build());
     }
 
+    /**
+     * Ключи - строки UTF-8, значения - JSON вместо JDK-сериализации: без заголовков и дескрипторов классов
+     * Java, поэтому значения компактнее и читаются из redis-cli
+     */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(LettuceConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.json());
+        template.setHashValueSerializer(RedisSerializer.json());
         return template;
     }
 }
@@ -9,14 +9,22 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * Contact, passport data and user profile are loaded lazily (the entities are bytecode enhanced, see pom.xml).
+ * Operations that need them load the client with a named entity graph in a single query.
+ */
 @Entity
 @Table(name = "db_client")
+@NamedEntityGraph(name = Client.WITH_CONTACT_AND_USER_PROFILE, attributeNodes = {
+        @NamedAttributeNode("contact"), @NamedAttributeNode("userProfile")})
 @Getter
 @Setter
 @NoArgsConstructor()
 @RequiredArgsConstructor
 public class Client {
 
+    public static final String WITH_CONTACT_AND_USER_PROFILE = "Client.withContactAndUserProfile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -46,13 +54,13 @@ public class Client {
     @Enumerated(EnumType.STRING)
     private ClientStatus clientStatus;
 
-    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Contact contact;
 
-    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private PassportData passportData;
 
-    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private UserProfile userProfile;
 
     @Override
@@ -0,0 +1,82 @@
+package com.example.userservice.persistence.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Сообщение для Kafka, сохранённое в той же транзакции, что и изменение данных.
+ * Отправляется фоновым relay, после отправки заполняется sentAt. На время отправки relay занимает
+ * сообщение до claimedUntil, неудачные отправки считаются в attempts, сообщение, которое не удалось
+ * отправить, исключается из очереди заполнением failedAt.
+ */
+@Entity
+@Table(name = "db_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@RequiredArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NonNull
+    @Column(name = "topic")
+    private String topic;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @NonNull
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    public OutboxMessage(@NonNull String topic, String messageKey, @NonNull String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OutboxMessage that)) return false;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
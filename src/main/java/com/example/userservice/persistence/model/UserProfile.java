@@ -21,7 +21,7 @@ public class UserProfile {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_client", referencedColumnName = "id")
     @NonNull
     private Client client;
@@ -46,6 +46,9 @@ public class UserProfile {
     @Column(name = "fingerprint")
     private String fingerprint;
 
+    @Column(name = "fingerprint_hash")
+    private String fingerprintHash;
+
     @Column(name = "user_authorization")
     @Enumerated(EnumType.STRING)
     private AuthorizationType authorization;
@@ -4,19 +4,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.redis.core.RedisHash;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
-@RedisHash("Verification")
+/**
+ * Отправленный код подтверждения. Хранится в Redis ключами с TTL,
+ * поэтому blockExpiration и codeLifetime вычисляются из оставшегося времени жизни ключей.
+ * <p>
+ * codeLifetime - момент, когда код истечёт, blockExpiration - конец блокировки (null, если блокировки нет).
+ */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Verification implements Serializable {
-    @Id
     private String mobilePhone;
     private String verificationCode;
     private LocalDateTime blockExpiration;
@@ -0,0 +1,10 @@
+package com.example.userservice.persistence.projection;
+
+/**
+ * Fingerprint login read model of a user profile, selected by client id in a single query.
+ *
+ * @param fingerprintHash   hash of the fingerprint, null if it has not been saved since hashing was introduced
+ * @param legacyFingerprint fingerprint saved before hashing, null once it has been replaced with the hash
+ */
+public record FingerprintView(String fingerprintHash, String legacyFingerprint) {
+}
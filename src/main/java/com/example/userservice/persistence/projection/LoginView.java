@@ -0,0 +1,11 @@
+package com.example.userservice.persistence.projection;
+
+import com.example.userservice.app.enums.ClientStatus;
+
+import java.util.UUID;
+
+/**
+ * Login read model: everything the login needs about a client, selected in a single query.
+ */
+public record LoginView(UUID clientId, String passwordEncoded, ClientStatus clientStatus) {
+}
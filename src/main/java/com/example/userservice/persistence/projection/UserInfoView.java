@@ -0,0 +1,9 @@
+package com.example.userservice.persistence.projection;
+
+/**
+ * User info read model: names, contact and passport number of a client, selected in a single query.
+ * Contact and passport data are null if the client has none.
+ */
+public record UserInfoView(String firstName, String lastName, String surname,
+                           String email, String mobilePhone, String passportNumber) {
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a single verification attempt evaluated by the verification store.
+ *
+ * @param status          what happened to the attempt
+ * @param blockExpiration end of the blocking period for {@link Status#BLOCKED} and
+ *                        {@link Status#ATTEMPTS_EXHAUSTED}, otherwise null
+ */
+public record VerificationAttempt(Status status, LocalDateTime blockExpiration) {
+
+    public enum Status {
+        /** No pending verification for the phone. */
+        NOT_FOUND,
+        /** The code matched, the verification was removed. */
+        MATCHED,
+        /** The code did not match, attempts are left. */
+        WRONG_CODE,
+        /** The code did not match and it was the last attempt, the code was removed and the phone is now blocked. */
+        ATTEMPTS_EXHAUSTED,
+        /** The phone is blocked, the attempt was not counted. */
+        BLOCKED
+    }
+}
@@ -3,12 +3,15 @@ package com.example.userservice.persistence.repository;
 import com.example.userservice.app.enums.ClientStatus;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
+import com.example.userservice.persistence.projection.UserInfoView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,6 +20,21 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
 
     Optional<Client> findClientByContact(Contact contact);
 
+    /**
+     * User info of the client, without loading the entities.
+     */
+    @Query("SELECT new com.example.userservice.persistence.projection.UserInfoView(" +
+            "cl.firstName, cl.lastName, cl.surname, c.email, c.mobilePhone, pd.identificationPassportNumber) " +
+            "FROM Client cl LEFT JOIN Contact c ON c.client = cl LEFT JOIN PassportData pd ON pd.client = cl " +
+            "WHERE cl.id = :id")
+    Optional<UserInfoView> findUserInfoViewById(@Param("id") UUID id);
+
+    /**
+     * Client with the contact and the user profile, in a single query.
+     */
+    @EntityGraph(Client.WITH_CONTACT_AND_USER_PROFILE)
+    Optional<Client> findWithContactAndUserProfileById(UUID id);
+
     /**
      * Method for changing client status by ID.
      *
@@ -27,4 +45,15 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
     @Modifying
     @Query("UPDATE Client c SET c.clientStatus = :status WHERE c.id = :id")
     void changeClientStatusById(@Param("id") UUID id, @Param("status") ClientStatus status);
+
+    /**
+     * Method for changing status of several clients with a single UPDATE.
+     *
+     * @param ids user identifiers
+     * @param status new client status
+     * @return the number of records updated
+     */
+    @Modifying
+    @Query("UPDATE Client c SET c.clientStatus = :status WHERE c.id IN :ids")
+    int changeClientStatusByIds(@Param("ids") Collection<UUID> ids, @Param("status") ClientStatus status);
 }
\ No newline at end of file
@@ -2,12 +2,16 @@ package com.example.userservice.persistence.repository;
 
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
+import com.example.userservice.persistence.projection.LoginView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,4 +28,66 @@ public interface ContactRepository extends JpaRepository<Contact, UUID> {
 
     Optional<Contact> findByClient(Client client);
 
+    @Query("SELECT c.mobilePhone FROM Contact c WHERE c.client.id = :clientId")
+    Optional<String> findMobilePhoneByClientId(@Param("clientId") UUID clientId);
+
+    @Query("SELECT c.mobilePhone FROM Contact c WHERE c.client.id IN :clientIds")
+    List<String> findMobilePhonesByClientIds(@Param("clientIds") Collection<UUID> clientIds);
+
+    /**
+     * Login data of the client with the given mobile phone, without loading the entities.
+     */
+    @Query("SELECT new com.example.userservice.persistence.projection.LoginView(" +
+            "cl.id, u.passwordEncoded, cl.clientStatus) " +
+            "FROM Contact c JOIN c.client cl JOIN UserProfile u ON u.client = cl " +
+            "WHERE c.mobilePhone = :mobilePhone")
+    Optional<LoginView> findLoginViewByMobilePhone(@Param("mobilePhone") String mobilePhone);
+
+    boolean existsByClient_Id(UUID clientId);
+
+    /**
+     * Changes the email of the client's contact unless it already has this email. An email taken by another contact
+     * is rejected by the unique idx_db_contacts_on_email with a {@code DataIntegrityViolationException}.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contact c SET c.email = :email " +
+            "WHERE c.client.id = :clientId AND (c.email IS NULL OR c.email <> :email)")
+    int updateEmailByClientId(@Param("clientId") UUID clientId, @Param("email") String email);
+
+    /**
+     * Updates the notification flags of the client's contact in one statement, a null flag is left unchanged
+     * (CASE instead of COALESCE, Hibernate 6.3 can't type a COALESCE over a parameter in the SET clause).
+     * Nothing is updated if email notifications are enabled for a contact without an email, disabling them is allowed.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contact c SET " +
+            "c.smsNotificationEnable = CASE WHEN :smsNotification IS NULL THEN c.smsNotificationEnable " +
+            "ELSE :smsNotification END, " +
+            "c.pushNotificationEnable = CASE WHEN :pushNotification IS NULL THEN c.pushNotificationEnable " +
+            "ELSE :pushNotification END, " +
+            "c.emailNotificationEnable = CASE WHEN :emailSubscription IS NULL THEN c.emailNotificationEnable " +
+            "ELSE :emailSubscription END " +
+            "WHERE c.client.id = :clientId " +
+            "AND (:emailSubscription IS NULL OR :emailSubscription = false OR c.email IS NOT NULL)")
+    int updateNotificationsByClientId(@Param("clientId") UUID clientId,
+                                      @Param("smsNotification") Boolean smsNotification,
+                                      @Param("pushNotification") Boolean pushNotification,
+                                      @Param("emailSubscription") Boolean emailSubscription);
+
+    /**
+     * Changes email notifications of the client's contact only if it has an email and the status differs.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Contact c SET c.emailNotificationEnable = :status " +
+            "WHERE c.client.id = :clientId AND c.email IS NOT NULL AND c.emailNotificationEnable <> :status")
+    int updateEmailNotificationByClientId(@Param("clientId") UUID clientId, @Param("status") Boolean status);
 }
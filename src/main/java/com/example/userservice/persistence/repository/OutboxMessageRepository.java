@@ -0,0 +1,106 @@
+package com.example.userservice.persistence.repository;
+
+import com.example.userservice.persistence.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Method for taking the oldest unsent messages for publishing.
+     * Failed messages and messages claimed by a relay until after {@code now} are not taken.
+     * Rows are locked until the end of the transaction, rows already locked by another instance are skipped.
+     *
+     * @param now current time
+     * @param pageable maximum number of messages
+     * @return unsent messages in creation order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxMessage o WHERE o.sentAt IS NULL AND o.failedAt IS NULL " +
+            "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now) ORDER BY o.createdAt")
+    List<OutboxMessage> findUnsentForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Method for claiming messages, other relays don't take them until claimedUntil.
+     *
+     * @param ids message identifiers
+     * @param claimedUntil end of the claim
+     * @return the number of records updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.claimedUntil = :claimedUntil WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Method for marking published messages.
+     *
+     * @param ids message identifiers
+     * @param sentAt publishing time
+     * @return the number of records updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Method for taking messages out of the queue for good, e.g. with a payload that can't be read.
+     *
+     * @param ids message identifiers
+     * @param failedAt failure time
+     * @return the number of records updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.failedAt = :failedAt WHERE o.id IN :ids")
+    int markFailed(@Param("ids") Collection<UUID> ids, @Param("failedAt") LocalDateTime failedAt);
+
+    /**
+     * Method for counting a failed send. The message stays claimed until its claimedUntil and is retried then,
+     * after maxAttempts failed sends it is taken out of the queue.
+     *
+     * @param ids message identifiers
+     * @param failedAt failure time
+     * @param maxAttempts failed sends before the message is taken out of the queue
+     * @return the number of records updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.attempts = o.attempts + 1, " +
+            "o.failedAt = CASE WHEN o.attempts + 1 >= :maxAttempts THEN :failedAt ELSE o.failedAt END " +
+            "WHERE o.id IN :ids")
+    int recordFailedAttempt(@Param("ids") Collection<UUID> ids, @Param("failedAt") LocalDateTime failedAt,
+                            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Method for deleting messages published before the given time.
+     *
+     * @param sentBefore publishing time bound
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.sentAt < :sentBefore")
+    int deleteSentBefore(@Param("sentBefore") LocalDateTime sentBefore);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxMessage o WHERE o.sentAt IS NULL AND o.failedAt IS NULL")
+    Optional<LocalDateTime> findOldestUnsentCreatedAt();
+
+    @Query("SELECT COUNT(o) FROM OutboxMessage o WHERE o.sentAt IS NULL AND o.failedAt IS NULL")
+    long countUnsent();
+
+    @Query("SELECT COUNT(o) FROM OutboxMessage o WHERE o.failedAt IS NOT NULL")
+    long countFailed();
+}
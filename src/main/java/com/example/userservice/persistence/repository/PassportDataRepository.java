@@ -1,7 +1,10 @@
 package com.example.userservice.persistence.repository;
 
 import com.example.userservice.persistence.model.PassportData;
+import com.example.userservice.persistence.projection.LoginView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +16,13 @@ public interface PassportDataRepository extends JpaRepository<PassportData, UUID
     Optional<PassportData> findByIdentificationPassportNumber(String identificationPassportNumber);
 
     Optional<PassportData> findPassportDataByIdentificationPassportNumber(String passportNumber);
+
+    /**
+     * Login data of the client with the given passport number, without loading the entities.
+     */
+    @Query("SELECT new com.example.userservice.persistence.projection.LoginView(" +
+            "cl.id, u.passwordEncoded, cl.clientStatus) " +
+            "FROM PassportData p JOIN p.client cl JOIN UserProfile u ON u.client = cl " +
+            "WHERE p.identificationPassportNumber = :passportNumber")
+    Optional<LoginView> findLoginViewByPassportNumber(@Param("passportNumber") String passportNumber);
 }
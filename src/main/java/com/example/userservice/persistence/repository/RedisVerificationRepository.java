@@ -0,0 +1,203 @@
+package com.example.userservice.persistence.repository;
+
+import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.projection.VerificationAttempt;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Коды подтверждения в Redis без Spring Data repositories: никаких _class, индексных множеств и фантомных ключей.
+ * <p>
+ * Для каждого телефона не больше двух ключей, оба с TTL:
+ * <ul>
+ *     <li>{@code verification:{phone}:code} - хеш с полями code и attempts, живёт codeLifetime;</li>
+ *     <li>{@code verification:{phone}:block} - строка, существует, пока телефон заблокирован.</li>
+ * </ul>
+ * Телефон в фигурных скобках - hash tag, чтобы в Redis Cluster оба ключа попадали в один слот
+ * и скрипты могли работать с ними атомарно.
+ */
+@Repository
+public class RedisVerificationRepository implements VerificationRepository {
+
+    private static final String KEY_PREFIX = "verification:{";
+    private static final String CODE_SUFFIX = "}:code";
+    private static final String BLOCK_SUFFIX = "}:block";
+    private static final String CODE = "code";
+    private static final String ATTEMPTS = "attempts";
+    static final int SCAN_COUNT = 500;
+    private static final int COMMANDS_PER_ID = 3;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ATTEMPT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/verification-attempt.lua"), List.class);
+
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/verification-issue.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisVerificationRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<Verification> findById(String mobilePhone) {
+        return findAllById(List.of(mobilePhone)).stream().findFirst();
+    }
+
+    @Override
+    public List<Verification> findAllById(Collection<String> mobilePhones) {
+        if (mobilePhones.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = List.copyOf(mobilePhones);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String mobilePhone : ids) {
+                byte[] codeKey = codeKey(mobilePhone).getBytes();
+                connection.hashCommands().hGetAll(codeKey);
+                connection.keyCommands().pTtl(codeKey);
+                connection.keyCommands().pTtl(blockKey(mobilePhone).getBytes());
+            }
+            return null;
+        });
+        LocalDateTime now = LocalDateTime.now();
+        List<Verification> verifications = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            toVerification(ids.get(i), results.subList(i * COMMANDS_PER_ID, (i + 1) * COMMANDS_PER_ID), now)
+                    .ifPresent(verifications::add);
+        }
+        return verifications;
+    }
+
+    /**
+     * Идёт по ключам через SCAN (не блокирует Redis, в отличие от KEYS) и дочитывает коды
+     * пачками по SCAN_COUNT телефонов, по одному pipeline на пачку.
+     */
+    @Override
+    public List<Verification> findAll() {
+        Set<String> seen = new HashSet<>();
+        List<String> page = new ArrayList<>(SCAN_COUNT);
+        List<Verification> verifications = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String mobilePhone = mobilePhone(cursor.next());
+                if (seen.add(mobilePhone)) {
+                    page.add(mobilePhone);
+                }
+                if (page.size() == SCAN_COUNT) {
+                    verifications.addAll(findAllById(page));
+                    page.clear();
+                }
+            }
+        }
+        verifications.addAll(findAllById(page));
+        return verifications;
+    }
+
+    @Override
+    public Verification save(Verification verification) {
+        String mobilePhone = verification.getMobilePhone();
+        LocalDateTime now = LocalDateTime.now();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] codeKey = codeKey(mobilePhone).getBytes();
+            byte[] blockKey = blockKey(mobilePhone).getBytes();
+            connection.keyCommands().del(codeKey, blockKey);
+            if (verification.getVerificationCode() != null && isAfter(verification.getCodeLifetime(), now)) {
+                int attempts = verification.getVerificationAttempts() == null ? 0 : verification.getVerificationAttempts();
+                connection.hashCommands().hMSet(codeKey, Map.of(
+                        CODE.getBytes(), verification.getVerificationCode().getBytes(),
+                        ATTEMPTS.getBytes(), String.valueOf(attempts).getBytes()));
+                connection.keyCommands().pExpire(codeKey, millisUntil(now, verification.getCodeLifetime()));
+            }
+            if (isAfter(verification.getBlockExpiration(), now)) {
+                connection.stringCommands().pSetEx(blockKey, millisUntil(now, verification.getBlockExpiration()),
+                        "1".getBytes());
+            }
+            return null;
+        });
+        return verification;
+    }
+
+    @Override
+    public void deleteById(String mobilePhone) {
+        redisTemplate.delete(List.of(codeKey(mobilePhone), blockKey(mobilePhone)));
+    }
+
+    @Override
+    public Optional<Duration> saveCode(String mobilePhone, String code, Duration lifetime) {
+        Long blockedMillis = redisTemplate.execute(ISSUE_SCRIPT, keys(mobilePhone), code,
+                String.valueOf(lifetime.toMillis()));
+        return blockedMillis != null && blockedMillis > 0 ? Optional.of(Duration.ofMillis(blockedMillis)) : Optional.empty();
+    }
+
+    @Override
+    public VerificationAttempt attempt(String mobilePhone, String code, int maxAttempts, Duration blockingTime) {
+        List<?> result = redisTemplate.execute(ATTEMPT_SCRIPT, keys(mobilePhone), code,
+                String.valueOf(maxAttempts), String.valueOf(blockingTime.toMillis()));
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Empty verification script result for " + mobilePhone);
+        }
+        VerificationAttempt.Status status = VerificationAttempt.Status.valueOf(result.get(0).toString());
+        LocalDateTime blockExpiration = result.size() > 1
+                ? LocalDateTime.now().plus(((Number) result.get(1)).longValue(), ChronoUnit.MILLIS)
+                : null;
+        return new VerificationAttempt(status, blockExpiration);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Verification> toVerification(String mobilePhone, List<Object> results, LocalDateTime now) {
+        Map<String, String> code = (Map<String, String>) results.get(0);
+        LocalDateTime codeLifetime = expiration(now, (Long) results.get(1));
+        LocalDateTime blockExpiration = expiration(now, (Long) results.get(2));
+        if (code.isEmpty() && blockExpiration == null) {
+            return Optional.empty();
+        }
+        Integer attempts = code.containsKey(ATTEMPTS) ? Integer.valueOf(code.get(ATTEMPTS)) : null;
+        return Optional.of(new Verification(mobilePhone, code.get(CODE), blockExpiration, attempts, codeLifetime));
+    }
+
+    private static LocalDateTime expiration(LocalDateTime now, Long ttlMillis) {
+        return ttlMillis != null && ttlMillis > 0 ? now.plus(ttlMillis, ChronoUnit.MILLIS) : null;
+    }
+
+    private static boolean isAfter(LocalDateTime expiration, LocalDateTime now) {
+        return expiration != null && expiration.isAfter(now);
+    }
+
+    private static long millisUntil(LocalDateTime now, LocalDateTime expiration) {
+        return Math.max(1, Duration.between(now, expiration).toMillis());
+    }
+
+    private static List<String> keys(String mobilePhone) {
+        return List.of(codeKey(mobilePhone), blockKey(mobilePhone));
+    }
+
+    private static String codeKey(String mobilePhone) {
+        return KEY_PREFIX + mobilePhone + CODE_SUFFIX;
+    }
+
+    private static String blockKey(String mobilePhone) {
+        return KEY_PREFIX + mobilePhone + BLOCK_SUFFIX;
+    }
+
+    private static String mobilePhone(String key) {
+        return key.substring(KEY_PREFIX.length(), key.lastIndexOf('}'));
+    }
+}
@@ -2,8 +2,13 @@ package com.example.userservice.persistence.repository;
 
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.UserProfile;
+import com.example.userservice.persistence.projection.FingerprintView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +21,36 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, UUID>
 
     Optional<UserProfile> findByClientId(UUID clientId);
 
-    Optional<UserProfile> findUserProfilesByFingerprint(String fingerprint);
+    /**
+     * Fingerprint login data of the client, without loading the entities.
+     */
+    @Query("SELECT new com.example.userservice.persistence.projection.FingerprintView(" +
+            "u.fingerprintHash, u.fingerprint) FROM UserProfile u WHERE u.client.id = :clientId")
+    Optional<FingerprintView> findFingerprintViewByClientId(@Param("clientId") UUID clientId);
 
+    /**
+     * Replaces the plain fingerprint with its hash only if it has not been changed since it was read.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserProfile u SET u.fingerprintHash = :fingerprintHash, u.fingerprint = NULL " +
+            "WHERE u.client.id = :clientId AND u.fingerprint = :fingerprint")
+    int updateFingerprintHashByClientId(@Param("clientId") UUID clientId,
+                                        @Param("fingerprint") String fingerprint,
+                                        @Param("fingerprintHash") String fingerprintHash);
+
+    /**
+     * Replaces the password hash only if it has not been changed since it was read.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserProfile u SET u.passwordEncoded = :newPasswordEncoded " +
+            "WHERE u.client.id = :clientId AND u.passwordEncoded = :oldPasswordEncoded")
+    int updatePasswordEncodedByClientId(@Param("clientId") UUID clientId,
+                                        @Param("oldPasswordEncoded") String oldPasswordEncoded,
+                                        @Param("newPasswordEncoded") String newPasswordEncoded);
 }
@@ -1,9 +1,55 @@
 package com.example.userservice.persistence.repository;
 
 import com.example.userservice.persistence.model.Verification;
-import org.springframework.data.repository.CrudRepository;
-import org.springframework.stereotype.Repository;
+import com.example.userservice.persistence.projection.VerificationAttempt;
 
-@Repository
-public interface VerificationRepository extends CrudRepository<Verification, String> {
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Хранилище кодов подтверждения. Код и блокировка живут ровно столько, сколько задано при записи,
+ * истёкшие записи удаляются самим хранилищем.
+ */
+public interface VerificationRepository {
+
+    Optional<Verification> findById(String mobilePhone);
+
+    /**
+     * Читает коды для нескольких телефонов за один запрос к хранилищу
+     *
+     * @return найденные коды в порядке mobilePhones, отсутствующие телефоны пропускаются
+     */
+    List<Verification> findAllById(Collection<String> mobilePhones);
+
+    List<Verification> findAll();
+
+    /**
+     * Записывает код и блокировку как есть: код живёт до codeLifetime, блокировка до blockExpiration
+     */
+    Verification save(Verification verification);
+
+    void deleteById(String mobilePhone);
+
+    /**
+     * Сохраняет новый код, если телефон не заблокирован. Счётчик попыток при повторной отправке не сбрасывается.
+     *
+     * @param mobilePhone телефон, на который отправлен код
+     * @param code        код
+     * @param lifetime    время жизни кода
+     * @return оставшееся время блокировки, если телефон заблокирован и код не сохранён
+     */
+    Optional<Duration> saveCode(String mobilePhone, String code, Duration lifetime);
+
+    /**
+     * Проверяет код за один атомарный шаг: блокировка, сравнение, счётчик попыток и установка блокировки.
+     *
+     * @param mobilePhone  телефон, на который отправлен код
+     * @param code         введённый код
+     * @param maxAttempts  количество попыток до блокировки
+     * @param blockingTime время блокировки после последней неудачной попытки
+     * @return результат попытки
+     */
+    VerificationAttempt attempt(String mobilePhone, String code, int maxAttempts, Duration blockingTime);
 }
@@ -1,5 +1,7 @@
 package com.example.userservice.web.controller;
 
+import com.example.userservice.app.ratelimit.RateLimitScope;
+import com.example.userservice.app.ratelimit.RateLimiter;
 import com.example.userservice.app.service.impl.LoginServiceImpl;
 import com.example.userservice.web.dto.errors.ErrorResponseDTO;
 import com.example.userservice.web.dto.requests.LoginRequestDto;
@@ -23,6 +25,8 @@ public class LoginController {
 
     private final LoginServiceImpl loginService;
 
+    private final RateLimiter rateLimiter;
+
     @Operation(
             summary = "Разовый вход в систему",
             responses = {
@@ -51,11 +55,21 @@ public class LoginController {
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     schema = @Schema(implementation = ErrorResponseDTO.class)
                             )
+                    ),
+
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "В случае, если превышен лимит попыток входа для логина или IP",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
                     )
             }
     )
     @PostMapping
     public ResponseEntity<LoginResponseDto> login(@RequestBody LoginRequestDto loginDataDto) {
+        rateLimiter.acquire(RateLimitScope.LOGIN, loginDataDto.getLogin());
         return ResponseEntity.ok(new LoginResponseDto(loginService.login(loginDataDto)));
     }
 }
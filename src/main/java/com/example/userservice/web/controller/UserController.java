@@ -4,7 +4,6 @@ import com.example.userservice.app.service.ClientService;
 import com.example.userservice.app.service.ContactService;
 import com.example.userservice.app.service.PassportDataService;
 import com.example.userservice.app.service.UserProfileService;
-import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.persistence.model.UserProfile;
 import com.example.userservice.web.controller.exception.BadRequestException;
 import com.example.userservice.web.dto.errors.ErrorResponseDTO;
@@ -14,6 +13,7 @@ import com.example.userservice.web.dto.requests.EmailAndPassportDto;
 import com.example.userservice.web.dto.requests.EmailIncomingDto;
 import com.example.userservice.web.dto.requests.FingerprintDTO;
 import com.example.userservice.web.dto.requests.NonClientDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
 import com.example.userservice.web.dto.requests.NotificationStatusDto;
 import com.example.userservice.web.dto.requests.PasswordChangeDTO;
 import com.example.userservice.web.dto.requests.PushNotificationsIncomingDto;
@@ -37,9 +37,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -50,6 +52,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static com.example.userservice.web.util.RequestValidator.authorizationTypeValidate;
@@ -260,17 +263,39 @@ public class UserController {
     @PatchMapping("/settings/notification/push")
     public HttpStatus changePushNotifications(@RequestHeader UUID clientId,
                                               @Valid @RequestBody PushNotificationsIncomingDto notificationStatus) {
-        Contact contact = contactService.findContactByClientId(clientId);
-
-        if (contact.getPushNotificationEnable().equals(notificationStatus.getNotificationStatus())) {
-            return HttpStatus.OK;
-        }
-
         log.info("Changing push notification status for user with ID = {}, to = {}", clientId, notificationStatus.getNotificationStatus());
-        contactService.changePushNotifications(contact, notificationStatus.getNotificationStatus());
+        contactService.changePushNotifications(clientId, notificationStatus.getNotificationStatus());
         return HttpStatus.OK;
     }
 
+    @Operation(
+            summary = "Изменение SMS, PUSH и email-уведомлений одним запросом",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Успешная запись переданных статусов в таблицу db_contacts"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Если ничего не было передано или email-уведомления включаются без email",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Пользователь не найден",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            ))})
+    @PatchMapping("/settings/notifications")
+    @ResponseStatus(HttpStatus.OK)
+    public void changeNotifications(@RequestHeader UUID clientId,
+                                    @RequestBody NotificationSettingsDto notificationSettingsDto) {
+        contactService.changeNotifications(clientId, notificationSettingsDto);
+    }
+
     @PatchMapping("/settings/controls")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -369,23 +394,7 @@ public class UserController {
     @ResponseStatus(HttpStatus.OK)
     public void changeNotification(@RequestHeader UUID clientId,
                                    @Valid @RequestBody NotificationStatusDto notificationStatusDto) {
-
-        boolean requiredStatus = notificationStatusDto.getNotificationStatus();
-        Contact contact = contactService.findContactByClientId(clientId);
-        String email = contact.getEmail();
-        boolean currentStatus = contact.getEmailNotificationEnable();
-
-        log.info("Changing notification for contact = {}, with email = {}, with status ={} by status = {}",
-                contact, email, currentStatus, requiredStatus);
-
-        if (email != null && currentStatus != requiredStatus) {
-            contact.setEmailNotificationEnable(requiredStatus);
-            contactService.save(contact);
-        } else {
-            log.error("Can't change notification for contact = {} due to invalid parameters", contact);
-            throw new BadRequestException(String.format("Can't change notification for contact = %s, " +
-                    "with email = %s, with status = %s by status = %s", contact, email, currentStatus, requiredStatus));
-        }
+        contactService.changeEmailNotifications(clientId, notificationStatusDto.getNotificationStatus());
     }
 
     @Operation(
@@ -429,7 +438,11 @@ public class UserController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Успешная выдача данных из таблиц db_contacts, db_passport_data, " +
-                                    "db_client"
+                                    "db_client, в заголовке ETag - версия данных"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Данные не изменились с версии из заголовка If-None-Match"
                     ),
                     @ApiResponse(
                             responseCode = "400",
@@ -467,8 +480,22 @@ public class UserController {
                                     schema = @Schema(implementation = ErrorResponseDTO.class)
                             ))})
     @GetMapping("/info")
-    public UserInfoDto getInfoByUser(@RequestHeader("ClientId") UUID clientId) {
-        return clientService.getUserInfoById(clientId);
+    public ResponseEntity<UserInfoDto> getInfoByUser(@RequestHeader("ClientId") UUID clientId) {
+        UserInfoDto userInfo = clientService.getUserInfoById(clientId);
+
+        // При совпадении с If-None-Match Spring отвечает 304 без тела
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(userInfoETag(userInfo))
+                .body(userInfo);
+    }
+
+    private static String userInfoETag(UserInfoDto userInfo) {
+        String content = String.join("\u0000", String.valueOf(userInfo.getFirstName()),
+                String.valueOf(userInfo.getLastName()), String.valueOf(userInfo.getSurname()),
+                String.valueOf(userInfo.getEmail()), String.valueOf(userInfo.getMobilePhone()),
+                String.valueOf(userInfo.getPassportNumber()));
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
     }
 
     @Operation(
@@ -1,5 +1,7 @@
 package com.example.userservice.web.controller;
 
+import com.example.userservice.app.ratelimit.RateLimitScope;
+import com.example.userservice.app.ratelimit.RateLimiter;
 import com.example.userservice.app.service.VerificationService;
 import com.example.userservice.web.dto.errors.ErrorResponseDTO;
 import com.example.userservice.web.dto.requests.VerifyByMobilePhoneAndVerificationCodeDTO;
@@ -28,9 +30,19 @@ public class VerificationController {
 
     private final VerificationService verificationService;
 
+    private final RateLimiter rateLimiter;
+
     @Operation(
             summary = "Генерация кода верификации по номеру телефона",
             responses = {
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Если превышен лимит запросов для номера или IP, в Retry-After - через сколько секунд повторить",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "200",
                             description = "В случаях успешной записи данных",
@@ -68,6 +80,7 @@ public class VerificationController {
     @PostMapping
     public ResponseEntity<HttpStatus> generateCodeByMobilePhone(@RequestBody MobilePhoneDTO mobilePhoneDto) {
         String mobilePhone = RequestValidator.mobilePhoneValidate(mobilePhoneDto.getMobilePhone());
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, mobilePhone);
         verificationService.generateCodeByMobilePhone(mobilePhone);
 
         return new ResponseEntity<>(HttpStatus.OK);
@@ -76,6 +89,14 @@ public class VerificationController {
     @Operation(
             summary = "Верификация пользователя по номеру телефона с учетом блокировки пользователя",
             responses = {
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Если превышен лимит запросов для номера или IP, в Retry-After - через сколько секунд повторить",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "200",
                             description = "Если переданный код верификации соответствует коду верификации в БД"
@@ -109,6 +130,7 @@ public class VerificationController {
     @PostMapping(path = "/verify")
     public ResponseEntity<HttpStatus> verifyByMobilePhoneAndVerificationCode(
             @RequestBody VerifyByMobilePhoneAndVerificationCodeDTO verifyDto) {
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_CHECK, verifyDto.getMobilePhone());
         verificationService.verifyByMobilePhoneAndVerificationCode(
                 verifyDto.getMobilePhone(),
                 verifyDto.getVerificationCode()
@@ -120,6 +142,14 @@ public class VerificationController {
     @Operation(
             summary = "Верификация пользователя по номеру телефона с учетом блокировки пользователя и дальнейшей авторизации",
             responses = {
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Если превышен лимит запросов для номера или IP, в Retry-After - через сколько секунд повторить",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "200",
                             description = "Если переданный код верификации соответствует коду верификации в БД",
@@ -157,6 +187,7 @@ public class VerificationController {
     @PostMapping(path = "/verify/phone")
     public ResponseEntity<AuthResponseDto> verifyByMobilePhoneAndVerificationCodeWithAuth(
             @RequestBody VerifyByMobilePhoneAndVerificationCodeDTO verifyDto) {
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_CHECK, verifyDto.getMobilePhone());
         AuthResponseDto authResponseDto = verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth(
                 verifyDto.getMobilePhone(),
                 verifyDto.getVerificationCode()
@@ -168,6 +199,14 @@ public class VerificationController {
     @Operation(
             summary = "Генерация кода верификации на основе номера паспорта",
             responses = {
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Если превышен лимит запросов для номера или IP, в Retry-After - через сколько секунд повторить",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "200",
                             description = "В случаях успешной записи данных",
@@ -205,6 +244,7 @@ public class VerificationController {
     @PostMapping("/generate")
     public ResponseEntity<HttpStatus> generateCodeByPassportNumber(@RequestBody PassportNumberDto passportNumberDto) {
         String passportNumber = RequestValidator.passportNumberValidate(passportNumberDto.getPassportNumber());
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, passportNumber);
         verificationService.generateCodeByPassportNumber(passportNumber);
 
         return new ResponseEntity<>(HttpStatus.OK);
@@ -214,6 +254,14 @@ public class VerificationController {
     @Operation(
             summary = "Верификация пользователя по номеру паспорта с учетом блокировки пользователя и дальнейшей авторизации",
             responses = {
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Если превышен лимит запросов для номера или IP, в Retry-After - через сколько секунд повторить",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ErrorResponseDTO.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "200",
                             description = "Если переданный код верификации соответствует коду верификации в БД",
@@ -250,6 +298,7 @@ public class VerificationController {
     )
     public ResponseEntity<AuthResponseDto> verifyByPassportNumberAndVerificationCodeWithAuth(
             @RequestBody VerifyByPassportNumberAndVerificationCodeDTO verifyDto) {
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_CHECK, verifyDto.getPassportNumber());
         AuthResponseDto authResponseDto = verificationService.verifyByPassportNumberAndVerificationCodeWithAuth(
                 verifyDto.getPassportNumber(),
                 verifyDto.getVerificationCode()
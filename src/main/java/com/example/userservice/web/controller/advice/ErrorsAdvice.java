@@ -6,6 +6,8 @@ import com.example.userservice.web.controller.exception.DuplicateException;
 import com.example.userservice.web.controller.exception.ForbiddenException;
 import com.example.userservice.web.controller.exception.InternalServerException;
 import com.example.userservice.web.controller.exception.NotFoundException;
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import com.example.userservice.web.controller.exception.TooManyRequestsException;
 import com.example.userservice.web.controller.exception.UnauthorizedException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.controller.exception.ViolationBlockingPeriodException;
@@ -16,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -146,4 +149,20 @@ public class ErrorsAdvice {
 
         return new ResponseEntity<>(internalServerResponse, HttpStatus.NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServiceUnavailableException(ServiceUnavailableException e) {
+        ErrorResponseDTO serviceUnavailableResponse = new ErrorResponseDTO("Service Unavailable", e.getMessage());
+
+        return new ResponseEntity<>(serviceUnavailableResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(TooManyRequestsException e) {
+        ErrorResponseDTO tooManyRequestsResponse = new ErrorResponseDTO("Too Many Requests", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(tooManyRequestsResponse);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userservice.web.controller.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
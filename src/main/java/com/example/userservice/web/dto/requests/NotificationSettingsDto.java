@@ -0,0 +1,31 @@
+package com.example.userservice.web.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@Builder
+@ToString
+@Schema(description = "Changing notification settings input dto, absent flags stay unchanged")
+public class NotificationSettingsDto {
+
+    @Schema(description = "sms notification status of user", example = "true", type = "boolean")
+    private Boolean smsNotification;
+
+    @Schema(description = "push notification status of user", example = "false", type = "boolean")
+    private Boolean pushNotification;
+
+    @Schema(description = "email notification status of user, can be enabled only if user has an email",
+            example = "true", type = "boolean")
+    private Boolean emailSubscription;
+}
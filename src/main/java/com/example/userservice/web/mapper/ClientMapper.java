@@ -9,7 +9,7 @@ import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true), uses = PasswordMapper.class)
 public interface ClientMapper {
 
     @Mapping(target = "contact.mobilePhone", source = "mobilePhone")
@@ -19,9 +19,7 @@ public interface ClientMapper {
     @Mapping(target = "passportData.placeOfIssue", source = "placeOfIssue")
     @Mapping(target = "passportData.expiryDate", source = "expiryDate")
     @Mapping(target = "passportData.birthDate", source = "birthDate")
-    @Mapping(target = "userProfile.passwordEncoded",
-            expression = "java(new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder()" +
-                    ".encode(nonClientDto.getPassword()))")
+    @Mapping(target = "userProfile.passwordEncoded", source = "password", qualifiedByName = "encodePassword")
     @Mapping(target = "userProfile.securityQuestion", source = "securityQuestion")
     @Mapping(target = "userProfile.securityAnswer", source = "securityAnswer")
     Client toClient (NonClientDto nonClientDto);
@@ -30,6 +28,6 @@ public interface ClientMapper {
     Contact toContact (ClientDto clientDto);
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "passwordEncoded", source = "password")
+    @Mapping(target = "passwordEncoded", source = "password", qualifiedByName = "encodePassword")
     UserProfile toUserProfile (ClientDto clientDto);
 }
@@ -0,0 +1,21 @@
+package com.example.userservice.web.mapper;
+
+import com.example.userservice.app.service.PasswordHashingService;
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets the mappers hash raw passwords with the configured {@link PasswordHashingService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordMapper {
+
+    private final PasswordHashingService passwordHashingService;
+
+    @Named("encodePassword")
+    public String encodePassword(String rawPassword) {
+        return rawPassword == null ? null : passwordHashingService.encode(rawPassword);
+    }
+}
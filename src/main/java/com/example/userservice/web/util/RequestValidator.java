@@ -1,46 +1,33 @@
 package com.example.userservice.web.util;
 
-
+import com.example.userservice.app.service.codegeneration.VerificationCodeGenerator;
 import com.example.userservice.web.dto.requests.ClientDto;
 import com.example.userservice.web.dto.requests.NonClientDto;
 import com.example.userservice.web.dto.requests.AuthorizationTypeIncomingDto;
+import com.example.userservice.web.util.validation.ValidationRules;
 import jakarta.validation.ValidationException;
 import lombok.experimental.UtilityClass;
 
 import java.util.List;
+import java.util.Locale;
 
 @UtilityClass
 public class RequestValidator {
 
-    private static final String MOBILE_PHONE_REGEX = "\\d+";
-
-    private static final String PASSPORT_NUMBER_REGEX =
-            "([A-Z0-9]*\\d+[A-Z0-9]*(\s|-)?[A-Z0-9]+)|[A-Z]+(\s|-)?[A-Z0-9]*\\d+[A-Z0-9]*";
-
-    private static final String EMAIL_REGEX = "^(?=.{5,30}@)[A-Za-z0-9_]+([A-Za-z0-9_-]+)*(\\.[A-Za-z0-9_-]+)*" +
-            "@[^-]([A-Za-z0-9_-]+)(\\.[A-Za-z]+)*(\\.[A-Za-z]{2,3})$";
-
-    private static final String EMAIL_AFTERAT_REGEX = "^[a-zA-Z]+(\\.[a-zA-Z]+)*$";
-
-    private static final String PASSWORD_ALLOWED_SYMBOLS = "[a-zA-Z0-9]+[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~a-zA-Z0-9]*";
-
-    private static final String SECURITY_QUESTION_OR_ANSWER_REGEX =
-            "[a-zA-Z0-9а-яА-Я]+[a-zA-Z0-9а-яА-Я!?,-._\s]*";
-
     private static final List<String> ALLOWED_COUNTRY_OF_RESIDENCE = List.of("RUS", "BLR", "POL",
             "UKR", "USA", "FR", "ESP", "ITA", "DEU", "CHN");
 
-    private static final String FIRSTNAME_OR_LASTNAME_REGEX = "[a-zA-Z]+||[а-яА-Я]+";
-
-    private static final String PLACE_OF_ISSUE_REGEX = "[a-zA-Z]+\s+[a-zA-Z]+||[а-яА-Я]+\s+[а-яА-Я]+";
+    /**
+     * Точную длину кода (app.param.verification.verificationCodeLength) проверяет VerificationService
+     */
+    private static final int VERIFICATION_CODE_MAX_LENGTH = VerificationCodeGenerator.MAX_LENGTH;
 
-    private static final List<String> PASSWORD_SYMBOLS_GROUP = List.of(
-            ".*[a-z].*", ".*[A-Z].*", ".*[0-9].*", ".*[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~].*");
+    private static final int FINGERPRINT_LENGTH = 6;
 
     public String mobilePhoneValidate(String mobilePhone) {
         String newMobilePhone = mobilePhone.replace(" ", "");
 
-        if (!newMobilePhone.matches(MOBILE_PHONE_REGEX)) {
+        if (!ValidationRules.isDigits(newMobilePhone)) {
             throw new ValidationException("A phone number can only contain numbers");
         }
 
@@ -48,15 +35,15 @@ public class RequestValidator {
             throw new ValidationException("The length of the phone number must be 11 characters");
         }
 
-        if (newMobilePhone.startsWith("8")) {
-            newMobilePhone = new StringBuilder(newMobilePhone).replace(0, 1, "7").toString();
+        if (newMobilePhone.charAt(0) == '8') {
+            newMobilePhone = "7".concat(newMobilePhone.substring(1));
         }
 
         return newMobilePhone;
     }
 
     public String passportNumberValidate(String passportNumber) {
-        if (!passportNumber.matches(PASSPORT_NUMBER_REGEX)) {
+        if (!ValidationRules.isPassportNumber(passportNumber)) {
             throw new ValidationException("Incorrect passport number: " + passportNumber);
         }
 
@@ -71,18 +58,11 @@ public class RequestValidator {
 
     public String passwordValidate(String password) {
         if (password.length() < 6 || password.length() > 20
-                || !password.matches(PASSWORD_ALLOWED_SYMBOLS)) {
+                || !ValidationRules.isPasswordAllowedSymbols(password)) {
             throw new ValidationException("The new password must be no shorter than 6 characters and " +
                     "no longer than 20 characters");
         }
-        int numberOfContainedSymbolGroups = 0;
-        for (String symbolGroup: PASSWORD_SYMBOLS_GROUP) {
-            if(password.matches(symbolGroup)){
-                numberOfContainedSymbolGroups++;
-            }
-        }
-
-        if (numberOfContainedSymbolGroups < 3) {
+        if (ValidationRules.countPasswordSymbolGroups(password) < 3) {
             throw new ValidationException("The new password must contain at least 3 symbol groups");
         }
         return password;
@@ -91,29 +71,26 @@ public class RequestValidator {
     public String verificationCodeValidate(String verificationCode) {
         String newVerificationCode = verificationCode.replace(" ", "");
 
-        String regex = "\\d{6}";
-
-        if (!newVerificationCode.matches(regex)) {
-            throw new ValidationException("A verification code must consist of 6 digits: " + newVerificationCode);
+        if (newVerificationCode.length() > VERIFICATION_CODE_MAX_LENGTH
+                || !ValidationRules.isDigits(newVerificationCode)) {
+            throw new ValidationException("A verification code must consist of digits: " + newVerificationCode);
         }
 
         return newVerificationCode;
     }
 
     public String emailValidate(String email) throws ValidationException {
-        if (!email.matches(EMAIL_REGEX)){
+        if (!ValidationRules.isEmail(email)) {
             throw new ValidationException("Incorrect email: " + email);
         }
-        String [] mas = email.split("@");
-        String afterAt = mas[1];
-        String beforeAt = mas[0];
+        return emailNormalize(email);
+    }
 
-        if (beforeAt.equalsIgnoreCase("admin")
-                || (afterAt.length() > 19 || afterAt.length() < 5)
-                || !afterAt.matches(EMAIL_AFTERAT_REGEX)) {
-            throw new ValidationException("Incorrect email: " + email);
-        }
-        return email;
+    /**
+     * Emails are stored in lower case, so the unique index on db_contacts.email is case-insensitive.
+     */
+    public String emailNormalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
 
     public String firstNameValidate(String firstName) {
@@ -121,7 +98,7 @@ public class RequestValidator {
         firstName = firstName.replace("-", "");
 
         if (firstName.length() < 2 || firstName.length() > 30
-                || !firstName.matches(FIRSTNAME_OR_LASTNAME_REGEX)) {
+                || !ValidationRules.isLatinOrCyrillicWord(firstName)) {
             throw new ValidationException("Incorrect first name");
         }
         return firstName;
@@ -132,7 +109,7 @@ public class RequestValidator {
         lastName = lastName.replace("-", "");
 
         if (lastName.length() < 2 || lastName.length() > 30
-                || !lastName.matches(FIRSTNAME_OR_LASTNAME_REGEX)) {
+                || !ValidationRules.isLatinOrCyrillicWord(lastName)) {
             throw new ValidationException("Incorrect last name");
         }
         return lastName;
@@ -146,21 +123,21 @@ public class RequestValidator {
 
     public void placeOfIssueValidate(String placeOfIssue) {
         if (placeOfIssue.length() < 5 || placeOfIssue.length() > 30
-                || !placeOfIssue.matches(PLACE_OF_ISSUE_REGEX)) {
+                || !ValidationRules.PLACE_OF_ISSUE.matcher(placeOfIssue).matches()) {
             throw new ValidationException("Incorrect place of issue");
         }
     }
 
     public void securityQuestionValidate(String securityQuestion) {
         if (securityQuestion.length() < 3 || securityQuestion.length() > 50
-                || !securityQuestion.matches(SECURITY_QUESTION_OR_ANSWER_REGEX)) {
+                || !ValidationRules.SECURITY_QUESTION_OR_ANSWER.matcher(securityQuestion).matches()) {
             throw new ValidationException("Incorrect security question");
         }
     }
 
     public void securityAnswerValidate(String securityAnswer) {
         if (securityAnswer.length() < 3 || securityAnswer.length() > 50
-                || !securityAnswer.matches(SECURITY_QUESTION_OR_ANSWER_REGEX)) {
+                || !ValidationRules.SECURITY_QUESTION_OR_ANSWER.matcher(securityAnswer).matches()) {
             throw new ValidationException("Incorrect security answer");
         }
     }
@@ -176,7 +153,7 @@ public class RequestValidator {
         nonClientDto.setPassportNumber(passportNumberWithoutSpaces);
 
         countryOfResidenceValidate(nonClientDto.getCountryOfResidence());
-        emailValidate(nonClientDto.getEmail());
+        nonClientDto.setEmail(emailValidate(nonClientDto.getEmail()));
         securityQuestionValidate(nonClientDto.getSecurityQuestion());
         securityAnswerValidate(nonClientDto.getSecurityAnswer());
     }
@@ -185,7 +162,7 @@ public class RequestValidator {
         String mobilePhoneWithoutSpaces = mobilePhoneValidate(clientDto.getMobilePhone());
         clientDto.setMobilePhone(mobilePhoneWithoutSpaces);
 
-        emailValidate(clientDto.getEmail());
+        clientDto.setEmail(emailValidate(clientDto.getEmail()));
         securityQuestionValidate(clientDto.getSecurityQuestion());
         securityAnswerValidate(clientDto.getSecurityAnswer());
     }
@@ -208,9 +185,7 @@ public class RequestValidator {
     public String fingerprintValidate(String fingerprint) throws IllegalArgumentException {
         String validFingerprint = fingerprint.replace(" ", "");
 
-        String regex = "\\d{6}";
-
-        if (!validFingerprint.matches(regex)) {
+        if (!ValidationRules.isDigits(validFingerprint, FINGERPRINT_LENGTH)) {
             throw new ValidationException("A fingerprint must consist of 6 digits: " + validFingerprint);
         }
 
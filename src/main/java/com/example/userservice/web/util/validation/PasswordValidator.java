@@ -8,6 +8,6 @@ public class PasswordValidator implements ConstraintValidator<Password, String>
 
     @Override
     public boolean isValid(String password, ConstraintValidatorContext constraintValidatorContext) {
-        return password.matches(Password.REGEX);
+        return ValidationRules.isPassword(password);
     }
 }
\ No newline at end of file
@@ -6,10 +6,8 @@ import jakarta.validation.ConstraintValidatorContext;
 
 public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, String> {
 
-    private static final String REGEX_PHONE_NUMBER = "\\+?7(\\d){10}";
-
     @Override
     public boolean isValid(String phoneNumber, ConstraintValidatorContext constraintValidatorContext) {
-        return phoneNumber.matches(REGEX_PHONE_NUMBER);
+        return ValidationRules.isPhoneNumber(phoneNumber);
     }
 }
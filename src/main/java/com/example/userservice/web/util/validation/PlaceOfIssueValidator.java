@@ -9,6 +9,6 @@ public class PlaceOfIssueValidator implements ConstraintValidator<PlaceOfIssue,
 
     @Override
     public boolean isValid(String placeOfIssue, ConstraintValidatorContext constraintValidatorContext) {
-        return placeOfIssue.matches(PlaceOfIssue.REGEX);
+        return ValidationRules.PLACE_OF_ISSUE.matcher(placeOfIssue).matches();
     }
 }
\ No newline at end of file
@@ -9,6 +9,6 @@ public class SecurityQAValidator implements ConstraintValidator<SecurityQA, Stri
 
     @Override
     public boolean isValid(String QA, ConstraintValidatorContext constraintValidatorContext) {
-        return QA.matches(SECURITY_QUESTION_ANSWER_PATTERN);
+        return ValidationRules.SECURITY_QUESTION_ANSWER.matcher(QA).matches();
     }
 }
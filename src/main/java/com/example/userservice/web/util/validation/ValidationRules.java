@@ -0,0 +1,263 @@
+package com.example.userservice.web.util.validation;
+
+import com.example.userservice.web.util.annotation.PlaceOfIssue;
+import lombok.experimental.UtilityClass;
+
+import java.util.regex.Pattern;
+
+/**
+ * Validation rules shared by {@code RequestValidator} and the constraint validators.
+ * Patterns are compiled once; the rules on the login and registration paths (phone, passport number,
+ * verification code, password, email) are single-pass scanners that accept exactly the same input
+ * as the regular expressions they replace.
+ */
+@UtilityClass
+public class ValidationRules {
+
+    public static final Pattern SECURITY_QUESTION_ANSWER =
+            Pattern.compile(SecurityQAValidator.SECURITY_QUESTION_ANSWER_PATTERN);
+
+    public static final Pattern SECURITY_QUESTION_OR_ANSWER =
+            Pattern.compile("[a-zA-Z0-9а-яА-Я]+[a-zA-Z0-9а-яА-Я!?,-._\s]*");
+
+    public static final Pattern PLACE_OF_ISSUE = Pattern.compile(PlaceOfIssue.REGEX);
+
+    private static final String PASSWORD_SPECIAL_SYMBOLS = "!\"#$%&'()*+,-./:;<=>?@[]^_`{|}~";
+
+    private static final int LOWER_CASE = 1;
+    private static final int UPPER_CASE = 1 << 1;
+    private static final int DIGIT = 1 << 2;
+    private static final int SPECIAL = 1 << 3;
+
+    /**
+     * Equivalent of {@code \d+}.
+     */
+    public boolean isDigits(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent of {@code \d{length}}.
+     */
+    public boolean isDigits(CharSequence value, int length) {
+        return value.length() == length && isDigits(value);
+    }
+
+    /**
+     * Equivalent of {@code \+?7(\d){10}}.
+     */
+    public boolean isPhoneNumber(String phoneNumber) {
+        int start = phoneNumber.startsWith("+") ? 1 : 0;
+        return phoneNumber.length() == start + 11
+                && phoneNumber.charAt(start) == '7'
+                && isDigits(phoneNumber.subSequence(start + 1, phoneNumber.length()));
+    }
+
+    /**
+     * Equivalent of {@code ([A-Z0-9]*\d+[A-Z0-9]*( |-)?[A-Z0-9]+)|[A-Z]+( |-)?[A-Z0-9]*\d+[A-Z0-9]*}:
+     * upper case letters and digits with at least one digit, optionally split in two non-empty parts
+     * by a single space or dash, and at least two characters long.
+     */
+    public boolean isPassportNumber(String passportNumber) {
+        int length = passportNumber.length();
+        if (length < 2) {
+            return false;
+        }
+        boolean hasDigit = false;
+        boolean hasSeparator = false;
+        for (int i = 0; i < length; i++) {
+            char c = passportNumber.charAt(i);
+            if (isDigit(c)) {
+                hasDigit = true;
+            } else if (c == ' ' || c == '-') {
+                if (hasSeparator || i == 0 || i == length - 1) {
+                    return false;
+                }
+                hasSeparator = true;
+            } else if (!isUpperCase(c)) {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
+
+    /**
+     * Password mask of the {@code Password} constraint: 6 to 20 characters, any character except
+     * {@code _}, and at least 3 of the 4 symbol groups (digits, lower case, upper case, non-word characters).
+     */
+    public boolean isPassword(String password) {
+        int length = password.length();
+        if (length < 6 || length > 20) {
+            return false;
+        }
+        int groups = 0;
+        boolean lineTerminatorSeen = false;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c == '_') {
+                return false;
+            }
+            if (lineTerminatorSeen) {
+                continue;
+            }
+            if (isLowerCase(c)) {
+                groups |= LOWER_CASE;
+            } else if (isUpperCase(c)) {
+                groups |= UPPER_CASE;
+            } else if (isDigit(c)) {
+                groups |= DIGIT;
+            } else {
+                groups |= SPECIAL;
+                lineTerminatorSeen = isLineTerminator(c);
+            }
+        }
+        return Integer.bitCount(groups) >= 3;
+    }
+
+    /**
+     * Equivalent of {@code [a-zA-Z0-9]+[<special symbols>a-zA-Z0-9]*}.
+     */
+    public boolean isPasswordAllowedSymbols(String password) {
+        if (password.isEmpty() || !isLetterOrDigit(password.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (!isLetterOrDigit(c) && PASSWORD_SPECIAL_SYMBOLS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the symbol groups (lower case, upper case, digits, special symbols) present in the password.
+     * Expects a password that passed {@link #isPasswordAllowedSymbols(String)}.
+     */
+    public int countPasswordSymbolGroups(String password) {
+        int groups = 0;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (isLowerCase(c)) {
+                groups |= LOWER_CASE;
+            } else if (isUpperCase(c)) {
+                groups |= UPPER_CASE;
+            } else if (isDigit(c)) {
+                groups |= DIGIT;
+            } else if (PASSWORD_SPECIAL_SYMBOLS.indexOf(c) >= 0) {
+                groups |= SPECIAL;
+            }
+        }
+        return Integer.bitCount(groups);
+    }
+
+    /**
+     * Full email check: the local part is 5 to 30 characters of letters, digits, {@code _}, {@code -}
+     * and single inner dots, is not {@code admin}, and the domain is 5 to 19 characters of letter labels
+     * separated by single dots, with a first label of at least 2 and a last label of 2 or 3 letters.
+     */
+    public boolean isEmail(String email) {
+        int at = email.indexOf('@');
+        if (at < 5 || at > 30 || email.indexOf('@', at + 1) >= 0) {
+            return false;
+        }
+        return isEmailLocalPart(email, at)
+                && !(at == 5 && email.regionMatches(true, 0, "admin", 0, 5))
+                && isEmailDomain(email, at + 1);
+    }
+
+    /**
+     * Latin-only or cyrillic-only word, equivalent of {@code [a-zA-Z]+||[а-яА-Я]+} for non-empty input.
+     */
+    public boolean isLatinOrCyrillicWord(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        boolean latin = isLatin(word.charAt(0));
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (latin ? !isLatin(c) : !isCyrillic(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEmailLocalPart(String email, int end) {
+        if (!isLetterOrDigit(email.charAt(0)) && email.charAt(0) != '_') {
+            return false;
+        }
+        for (int i = 1; i < end; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (email.charAt(i - 1) == '.' || i == end - 1) {
+                    return false;
+                }
+            } else if (!isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEmailDomain(String email, int start) {
+        int length = email.length() - start;
+        if (length < 5 || length > 19) {
+            return false;
+        }
+        int labels = 0;
+        int labelLength = 0;
+        for (int i = start; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || labels == 0 && labelLength < 2) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+            } else if (isLatin(c)) {
+                labelLength++;
+            } else {
+                return false;
+            }
+        }
+        return labels > 0 && labelLength >= 2 && labelLength <= 3;
+    }
+
+    private boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private boolean isLetterOrDigit(char c) {
+        return isLatin(c) || isDigit(c);
+    }
+
+    private boolean isLatin(char c) {
+        return isLowerCase(c) || isUpperCase(c);
+    }
+
+    private boolean isCyrillic(char c) {
+        return c >= 'А' && c <= 'я';
+    }
+
+    private boolean isLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,23 @@
+-- Sliding window counters for several limits of one request, checked and counted atomically.
+-- For every limit i: KEYS[2i-1] - counter of the current window, KEYS[2i] - counter of the previous window,
+-- ARGV[2 + i] - limit. ARGV[1] - window, ms, ARGV[2] - time elapsed in the current window, ms.
+-- The previous window is weighted by the part of it still inside the sliding window.
+-- Returns 0 and counts the request if every limit allows it, otherwise the number of the first exceeded
+-- limit; rejected requests are not counted.
+local window = tonumber(ARGV[1])
+local previousWeight = (window - tonumber(ARGV[2])) / window
+
+for i = 1, #KEYS / 2 do
+    local current = tonumber(redis.call('GET', KEYS[2 * i - 1]) or '0')
+    local previous = tonumber(redis.call('GET', KEYS[2 * i]) or '0')
+    if previous * previousWeight + current + 1 > tonumber(ARGV[2 + i]) then
+        return i
+    end
+end
+
+for i = 1, #KEYS / 2 do
+    if redis.call('INCR', KEYS[2 * i - 1]) == 1 then
+        redis.call('PEXPIRE', KEYS[2 * i - 1], 2 * window)
+    end
+end
+return 0
@@ -0,0 +1,24 @@
+-- Atomic verification attempt.
+-- KEYS[1] - code hash (code, attempts), KEYS[2] - block key
+-- ARGV[1] - entered code, ARGV[2] - number of attempts, ARGV[3] - blocking time, ms
+-- Both keys expire by themselves, an expired block simply disappears.
+local blocked = redis.call('PTTL', KEYS[2])
+if blocked > 0 then
+    return {'BLOCKED', blocked}
+end
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return {'NOT_FOUND'}
+end
+
+local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+if redis.call('HGET', KEYS[1], 'code') == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return {'MATCHED'}
+end
+
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('DEL', KEYS[1])
+    redis.call('SET', KEYS[2], '1', 'PX', ARGV[3])
+    return {'ATTEMPTS_EXHAUSTED', tonumber(ARGV[3])}
+end
+return {'WRONG_CODE'}
@@ -0,0 +1,13 @@
+-- Stores a new code unless the phone is blocked.
+-- KEYS[1] - code hash (code, attempts), KEYS[2] - block key
+-- ARGV[1] - code, ARGV[2] - code lifetime, ms
+-- Returns the remaining blocking time in ms, 0 if the code was stored.
+-- The attempts counter survives a resend, so resending does not reset the attempts.
+local blocked = redis.call('PTTL', KEYS[2])
+if blocked > 0 then
+    return blocked
+end
+redis.call('HSET', KEYS[1], 'code', ARGV[1])
+redis.call('HSETNX', KEYS[1], 'attempts', 0)
+redis.call('PEXPIRE', KEYS[1], ARGV[2])
+return 0
@@ -0,0 +1,79 @@
+package com.example.userservice.app.aspect;
+
+import com.example.userservice.app.cache.UserInfoCache;
+import com.example.userservice.app.service.ContactService;
+import com.example.userservice.app.service.impl.ContactServiceImpl;
+import com.example.userservice.persistence.model.Contact;
+import com.example.userservice.persistence.repository.ContactRepository;
+import com.example.userservice.persistence.repository.PassportDataRepository;
+import com.example.userservice.web.controller.exception.NotFoundException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ContactRepository contactRepository = mock(ContactRepository.class);
+
+    private ContactService contactService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory =
+                new AspectJProxyFactory(new ContactServiceImpl(contactRepository, mock(PassportDataRepository.class),
+                        mock(UserInfoCache.class)));
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        contactService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timeServiceMethod_whenMethodReturns_thenTimedWithClassAndMethodTags() {
+        when(contactRepository.findContactByClient_Id(any())).thenReturn(Optional.of(new Contact()));
+
+        contactService.findContactByClientId(UUID.randomUUID());
+        contactService.findContactByClientId(UUID.randomUUID());
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("class", "ContactServiceImpl")
+                .tag("method", "findContactByClientId")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void timeServiceMethod_whenMethodThrows_thenTimedWithExceptionTagAndRethrown() {
+        when(contactRepository.findContactByClient_Id(any())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> contactService.findContactByClientId(UUID.randomUUID()));
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("exception", "NotFoundException")
+                .timer().count());
+    }
+
+    @Test
+    void timeServiceMethod_thenArgumentsNeverBecomeTagValues() {
+        UUID clientId = UUID.randomUUID();
+        when(contactRepository.findContactByClient_Id(any())).thenReturn(Optional.of(new Contact()));
+
+        contactService.findContactByClientId(clientId);
+
+        for (Meter meter : meterRegistry.getMeters()) {
+            assertTrue(meter.getId().getTags().stream().noneMatch(tag -> tag.getValue().contains(clientId.toString())));
+        }
+    }
+}
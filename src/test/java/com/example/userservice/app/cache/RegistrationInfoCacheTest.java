@@ -0,0 +1,104 @@
+package com.example.userservice.app.cache;
+
+import com.example.userservice.app.enums.ClientStatus;
+import com.example.userservice.web.dto.responses.RegistrationInfoDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationInfoCacheTest {
+
+    private static final String PHONE = "79370458234";
+    private static final String KEY = "registration-info:" + PHONE;
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private SimpleMeterRegistry meterRegistry;
+    private RegistrationInfoCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RegistrationInfoCache(redisTemplate, meterRegistry, 100, 60, 60, 30);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenMissedBothLevels_thenLoadOnceAndWriteToRedis() {
+        RegistrationInfoDTO first = cache.get(PHONE, loader(ClientStatus.NOT_CLIENT, "61f0c404-5cb3-11e7-907b-a6006ad3dba0"));
+        RegistrationInfoDTO second = cache.get(PHONE, loader(ClientStatus.ACTIVE, null));
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertEquals("61f0c404-5cb3-11e7-907b-a6006ad3dba0", second.getClientId());
+        verify(valueOperations).set(KEY, "NOT_CLIENT:61f0c404-5cb3-11e7-907b-a6006ad3dba0", Duration.ofSeconds(60));
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "registration-info")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_whenPresentInRedis_thenNoLoad() {
+        when(valueOperations.get(KEY)).thenReturn("ACTIVE");
+
+        RegistrationInfoDTO result = cache.get(PHONE, loader(ClientStatus.NOT_REGISTERED, null));
+
+        assertEquals(new RegistrationInfoDTO(PHONE, ClientStatus.ACTIVE.name()), result);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void evict_thenNextGetLoadsAgain() {
+        cache.get(PHONE, loader(ClientStatus.IN_PROCESSING, null));
+
+        cache.evict(PHONE);
+        RegistrationInfoDTO result = cache.get(PHONE, loader(ClientStatus.ACTIVE, null));
+
+        assertEquals(ClientStatus.ACTIVE.name(), result.getClientStatus());
+        assertEquals(2, loads.get());
+        verify(redisTemplate).delete(KEY);
+    }
+
+    @Test
+    void get_whenRedisFails_thenLoadFromDatabaseAndSkipRedis() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("refused"));
+
+        cache.get(PHONE, loader(ClientStatus.ACTIVE, null));
+        cache.evict(PHONE);
+        RegistrationInfoDTO result = cache.get(PHONE, loader(ClientStatus.ACTIVE, null));
+
+        assertEquals(ClientStatus.ACTIVE.name(), result.getClientStatus());
+        assertEquals(2, loads.get());
+        verify(valueOperations, times(1)).get(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+        assertEquals(1, meterRegistry.get("cache.redis.gets").tag("result", "error").counter().count());
+    }
+
+    private Function<String, RegistrationInfoDTO> loader(ClientStatus status, String clientId) {
+        return phone -> {
+            loads.incrementAndGet();
+            RegistrationInfoDTO dto = new RegistrationInfoDTO(phone, status.name());
+            dto.setClientId(clientId);
+            return dto;
+        };
+    }
+}
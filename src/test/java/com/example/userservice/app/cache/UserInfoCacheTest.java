@@ -0,0 +1,77 @@
+package com.example.userservice.app.cache;
+
+import com.example.userservice.persistence.projection.UserInfoView;
+import com.example.userservice.web.controller.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserInfoCacheTest {
+
+    private static final UUID CLIENT_ID = UUID.fromString("61f0c404-5cb3-11e7-907b-a6006ad3dba0");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserInfoCache cache = new UserInfoCache(meterRegistry, 100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_whenCached_thenLoadedOnce() {
+        UserInfoView first = cache.get(CLIENT_ID, loader("t.andreeva@mail.ru"));
+        UserInfoView second = cache.get(CLIENT_ID, loader("other@mail.ru"));
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void get_whenLoaderThrows_thenNotCached() {
+        Function<UUID, UserInfoView> notFound = id -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("Client Not Found: " + id);
+        };
+
+        assertThrows(NotFoundException.class, () -> cache.get(CLIENT_ID, notFound));
+        assertThrows(NotFoundException.class, () -> cache.get(CLIENT_ID, notFound));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_whenInTransaction_thenRemovedAgainAfterCompletion() {
+        cache.get(CLIENT_ID, loader("t.andreeva@mail.ru"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(CLIENT_ID);
+        // a concurrent reader puts the old state back before the commit
+        cache.get(CLIENT_ID, loader("t.andreeva@mail.ru"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals("new@mail.ru", cache.get(CLIENT_ID, loader("new@mail.ru")).email());
+        assertEquals(3, loads.get());
+        assertEquals(1, meterRegistry.get("cache.invalidations").tag("cache", "user-info").counter().count());
+    }
+
+    private Function<UUID, UserInfoView> loader(String email) {
+        return id -> {
+            loads.incrementAndGet();
+            return new UserInfoView("Татьяна", "Андреева", "Николаевна", email, "79370458234", "23440123M");
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.userservice.app.kafka.consumer;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.Approval;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.app.service.completeregistration.RegistrationHandoffExecutor;
+import com.example.userservice.app.service.completeregistration.RegistrationPipeline;
+import com.example.userservice.app.service.completeregistration.newclient.CompleteNewApprovedClientRegistrationService;
+import com.example.userservice.app.service.completeregistration.oldclient.CompleteOldApprovedClientRegistrationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApprovedRegisterUserBatchConsumerTest {
+
+    private static final String DEAD_LETTER_TOPIC = "approved-register-user.DLT";
+
+    private CompleteNewApprovedClientRegistrationService newAllowedService;
+    private CompleteNewApprovedClientRegistrationService newBlockedService;
+    private CompleteOldApprovedClientRegistrationService oldAllowedService;
+    private CompleteOldApprovedClientRegistrationService oldBlockedService;
+    private KafkaTemplate<String, ApprovedRegisterUserDto> deadLetterTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ApprovedRegisterUserBatchConsumer consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        newAllowedService = mock(CompleteNewApprovedClientRegistrationService.class);
+        when(newAllowedService.getType()).thenReturn(Approval.ALLOWED);
+        newBlockedService = mock(CompleteNewApprovedClientRegistrationService.class);
+        when(newBlockedService.getType()).thenReturn(Approval.BLOCKED);
+        oldAllowedService = mock(CompleteOldApprovedClientRegistrationService.class);
+        when(oldAllowedService.getType()).thenReturn(Approval.ALLOWED);
+        oldBlockedService = mock(CompleteOldApprovedClientRegistrationService.class);
+        when(oldBlockedService.getType()).thenReturn(Approval.BLOCKED);
+        deadLetterTemplate = mock(KafkaTemplate.class);
+        when(deadLetterTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        RegistrationPipeline registrationPipeline = new RegistrationPipeline(
+                Set.of(newAllowedService, newBlockedService), Set.of(oldAllowedService, oldBlockedService),
+                meterRegistry);
+
+        consumer = new ApprovedRegisterUserBatchConsumer(registrationPipeline,
+                new RegistrationHandoffExecutor("none", 1), new ApprovedRegisterUserMetrics(meterRegistry),
+                deadLetterTemplate, DEAD_LETTER_TOPIC);
+    }
+
+    @Test
+    void completeClientRegistrations_thenGroupedByClientFlow() {
+        ApprovedRegisterUserDto newAllowed = dto(Approval.ALLOWED, ClientFlow.NEW);
+        ApprovedRegisterUserDto oldBlocked = dto(Approval.BLOCKED, ClientFlow.OLD);
+        ApprovedRegisterUserDto newBlocked = dto(Approval.BLOCKED, ClientFlow.NEW);
+
+        consumer.completeClientRegistrations(records(newAllowed, oldBlocked, newBlocked));
+
+        verify(newAllowedService).completeNewApprovedClientRegistrations(List.of(newAllowed.getClientId()));
+        verify(newBlockedService).completeNewApprovedClientRegistrations(List.of(newBlocked.getClientId()));
+        verify(oldBlockedService).completeOldApprovedClientRegistrations(List.of(oldBlocked.getClientId()));
+        verify(deadLetterTemplate, never()).send(anyString(), any(), any());
+    }
+
+    @Test
+    void completeClientRegistrations_whenGroupFails_thenFailedRecordGoesToDeadLetterTopic() {
+        ApprovedRegisterUserDto ok = dto(Approval.ALLOWED, ClientFlow.NEW);
+        ApprovedRegisterUserDto failing = dto(Approval.ALLOWED, ClientFlow.NEW);
+        doThrow(new IllegalStateException("bulk")).when(newAllowedService).completeNewApprovedClientRegistrations(anyList());
+        doThrow(new IllegalStateException("single")).when(newAllowedService)
+                .completeNewApprovedClientRegistration(failing.getClientId());
+
+        consumer.completeClientRegistrations(records(ok, failing));
+
+        verify(newAllowedService).completeNewApprovedClientRegistration(ok.getClientId());
+        verify(deadLetterTemplate).send(DEAD_LETTER_TOPIC, failing.getClientId().toString(), failing);
+        verify(deadLetterTemplate, never()).send(DEAD_LETTER_TOPIC, ok.getClientId().toString(), ok);
+    }
+
+    @Test
+    void completeClientRegistrations_whenMessageInvalid_thenDeadLetterTopicAndRestProcessed() {
+        ApprovedRegisterUserDto invalid = dto(Approval.ALLOWED, null);
+        ApprovedRegisterUserDto valid = dto(Approval.ALLOWED, ClientFlow.OLD);
+
+        consumer.completeClientRegistrations(records(invalid, valid));
+
+        verify(deadLetterTemplate).send(DEAD_LETTER_TOPIC, invalid.getClientId().toString(), invalid);
+        verify(oldAllowedService).completeOldApprovedClientRegistrations(List.of(valid.getClientId()));
+        verify(newAllowedService, never()).completeNewApprovedClientRegistrations(anyList());
+    }
+
+    @Test
+    void completeClientRegistrations_whenValueIsNull_thenDeadLetterTopicWithoutKey() {
+        consumer.completeClientRegistrations(records((ApprovedRegisterUserDto) null));
+
+        verify(deadLetterTemplate).send(eq(DEAD_LETTER_TOPIC), isNull(), isNull());
+    }
+
+    @Test
+    void completeClientRegistrations_whenSameClientTwice_thenEveryMessageProcessedInOrder() {
+        ApprovedRegisterUserDto blocked = dto(Approval.BLOCKED, ClientFlow.NEW);
+        ApprovedRegisterUserDto other = dto(Approval.ALLOWED, ClientFlow.NEW);
+        ApprovedRegisterUserDto allowed = new ApprovedRegisterUserDto(blocked.getClientId(), Approval.ALLOWED,
+                ClientFlow.NEW);
+
+        consumer.completeClientRegistrations(records(blocked, other, allowed));
+
+        InOrder inOrder = inOrder(newBlockedService, newAllowedService);
+        inOrder.verify(newBlockedService).completeNewApprovedClientRegistrations(List.of(blocked.getClientId()));
+        inOrder.verify(newAllowedService).completeNewApprovedClientRegistrations(List.of(allowed.getClientId()));
+        verify(newAllowedService).completeNewApprovedClientRegistrations(List.of(other.getClientId()));
+        verify(deadLetterTemplate, never()).send(anyString(), any(), any());
+    }
+
+    @Test
+    void completeClientRegistrations_thenProcessingTimedPerPartition() {
+        consumer.completeClientRegistrations(List.of(
+                record(0, dto(Approval.ALLOWED, ClientFlow.NEW)),
+                record(1, dto(Approval.ALLOWED, ClientFlow.NEW)),
+                record(1, dto(Approval.ALLOWED, ClientFlow.OLD))));
+
+        assertEquals(1, meterRegistry.get("approved.register.user.processing").tag("partition", "0").timer().count());
+        assertEquals(1, meterRegistry.get("approved.register.user.processing").tag("partition", "1").timer().count());
+        assertEquals(1, meterRegistry.get("approved.register.user.delay").tag("partition", "1").timer().count());
+    }
+
+    private static List<ConsumerRecord<String, ApprovedRegisterUserDto>> records(ApprovedRegisterUserDto... dtos) {
+        return Arrays.stream(dtos).map(dto -> record(0, dto)).toList();
+    }
+
+    private static ConsumerRecord<String, ApprovedRegisterUserDto> record(int partition, ApprovedRegisterUserDto dto) {
+        return new ConsumerRecord<>("approved-register-user", partition, 0L, System.currentTimeMillis(),
+                TimestampType.CREATE_TIME, 0, 0, dto == null ? null : dto.getClientId().toString(), dto,
+                new RecordHeaders(), Optional.empty());
+    }
+
+    private static ApprovedRegisterUserDto dto(Approval approval, ClientFlow clientFlow) {
+        return new ApprovedRegisterUserDto(UUID.randomUUID(), approval, clientFlow);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.userservice.app.kafka.producer;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.persistence.model.OutboxMessage;
+import com.example.userservice.persistence.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegisterUserOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private KafkaTemplate<String, RegisterUserDto> registerUserProducer;
+
+    private RegisterUserOutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        registerUserProducer = mock(KafkaTemplate.class);
+        when(outboxMessageRepository.findOldestUnsentCreatedAt()).thenReturn(Optional.empty());
+        relay = new RegisterUserOutboxRelay(outboxMessageRepository, registerUserProducer, objectMapper,
+                mock(PlatformTransactionManager.class), meterRegistry, BATCH_SIZE, 1000, 60000, MAX_ATTEMPTS, 24);
+    }
+
+    @Test
+    void relay_thenMessagesSentWithKeyAndMarked() throws Exception {
+        RegisterUserDto registerUserDto = new RegisterUserDto(UUID.randomUUID(), "john.snow@gmail.com", ClientFlow.NEW);
+        OutboxMessage message = message(registerUserDto);
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any())).thenReturn(List.of(message));
+        when(registerUserProducer.send("register-user", message.getMessageKey(), registerUserDto))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxMessageRepository).claim(eq(List.of(message.getId())), any(LocalDateTime.class));
+        verify(outboxMessageRepository).markSent(eq(List.of(message.getId())), any(LocalDateTime.class));
+        assertEquals(1, meterRegistry.get("outbox.register.user.sent").counter().count());
+    }
+
+    @Test
+    void relay_whenSendFails_thenMessageStaysUnsent() throws Exception {
+        RegisterUserDto sent = new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW);
+        RegisterUserDto failed = new RegisterUserDto(UUID.randomUUID(), "b@mail.ru", ClientFlow.NEW);
+        OutboxMessage sentMessage = message(sent);
+        OutboxMessage failedMessage = message(failed);
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any()))
+                .thenReturn(List.of(sentMessage, failedMessage))
+                .thenReturn(List.of());
+        when(registerUserProducer.send("register-user", sentMessage.getMessageKey(), sent))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(registerUserProducer.send("register-user", failedMessage.getMessageKey(), failed))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relay();
+
+        verify(outboxMessageRepository).markSent(eq(List.of(sentMessage.getId())), any(LocalDateTime.class));
+        verify(outboxMessageRepository).recordFailedAttempt(eq(Set.of(failedMessage.getId())),
+                any(LocalDateTime.class), eq(MAX_ATTEMPTS));
+        verify(outboxMessageRepository, never()).markFailed(anyCollection(), any());
+        verify(outboxMessageRepository, times(2)).findUnsentForUpdate(any(), any());
+        assertEquals(1, meterRegistry.get("outbox.register.user.failed").counter().count());
+        assertEquals(0, meterRegistry.get("outbox.register.user.dead").counter().count());
+    }
+
+    @Test
+    void relay_whenSendThrowsOnLastAttempt_thenAttemptRecordedAndCountedDead() throws Exception {
+        RegisterUserDto registerUserDto = new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW);
+        OutboxMessage message = message(registerUserDto);
+        message.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any())).thenReturn(List.of(message));
+        when(registerUserProducer.send("register-user", message.getMessageKey(), registerUserDto))
+                .thenThrow(new IllegalStateException("metadata not available"));
+
+        relay.relay();
+
+        verify(outboxMessageRepository).recordFailedAttempt(eq(Set.of(message.getId())),
+                any(LocalDateTime.class), eq(MAX_ATTEMPTS));
+        verify(outboxMessageRepository, never()).markSent(anyCollection(), any());
+        assertEquals(1, meterRegistry.get("outbox.register.user.dead").counter().count());
+    }
+
+    @Test
+    void relay_whenUnreadablePayloadBeforeGoodMessages_thenMarkedFailedAndGoodMessagesSent() throws Exception {
+        OutboxMessage unreadable = new OutboxMessage("register-user", UUID.randomUUID().toString(), "{not json");
+        unreadable.setId(UUID.randomUUID());
+        OutboxMessage first = sendable(new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW));
+        OutboxMessage second = sendable(new RegisterUserDto(UUID.randomUUID(), "b@mail.ru", ClientFlow.NEW));
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any()))
+                .thenReturn(List.of(unreadable, first))
+                .thenReturn(List.of(second));
+
+        relay.relay();
+
+        verify(outboxMessageRepository).markFailed(eq(List.of(unreadable.getId())), any(LocalDateTime.class));
+        verify(outboxMessageRepository).markSent(eq(List.of(first.getId())), any(LocalDateTime.class));
+        verify(outboxMessageRepository).markSent(eq(List.of(second.getId())), any(LocalDateTime.class));
+        verify(outboxMessageRepository, times(2)).findUnsentForUpdate(any(), any());
+        assertEquals(1, meterRegistry.get("outbox.register.user.dead").counter().count());
+    }
+
+    @Test
+    void relay_whenBatchFull_thenNextBatchTaken() throws Exception {
+        OutboxMessage first = sendable(new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW));
+        OutboxMessage second = sendable(new RegisterUserDto(UUID.randomUUID(), "b@mail.ru", ClientFlow.NEW));
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxMessageRepository, times(2)).findUnsentForUpdate(any(), any());
+        verify(outboxMessageRepository, times(1)).markSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relay_whenOutboxEmpty_thenNothingSentAndLagPublished() {
+        when(outboxMessageRepository.findUnsentForUpdate(any(), any())).thenReturn(List.of());
+        when(outboxMessageRepository.countUnsent()).thenReturn(3L);
+        when(outboxMessageRepository.findOldestUnsentCreatedAt())
+                .thenReturn(Optional.of(LocalDateTime.now().minusSeconds(30)));
+
+        relay.relay();
+
+        verify(outboxMessageRepository, never()).markSent(anyCollection(), any());
+        assertEquals(3, meterRegistry.get("outbox.register.user.pending").gauge().value());
+        assertEquals(30, meterRegistry.get("outbox.register.user.lag").gauge().value(), 1);
+    }
+
+    private OutboxMessage sendable(RegisterUserDto registerUserDto) throws Exception {
+        OutboxMessage message = message(registerUserDto);
+        when(registerUserProducer.send("register-user", message.getMessageKey(), registerUserDto))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        return message;
+    }
+
+    private OutboxMessage message(RegisterUserDto registerUserDto) throws Exception {
+        OutboxMessage message = new OutboxMessage("register-user", registerUserDto.getClientId().toString(),
+                objectMapper.writeValueAsString(registerUserDto));
+        message.setId(UUID.randomUUID());
+        return message;
+    }
+}
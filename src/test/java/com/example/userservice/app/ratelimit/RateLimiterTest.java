@@ -0,0 +1,151 @@
+package com.example.userservice.app.ratelimit;
+
+import com.example.userservice.web.controller.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    private static final String PHONE = "79370458234";
+
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(anyScript(), anyList(), any(Object[].class))).thenReturn(0L);
+        meterRegistry = new SimpleMeterRegistry();
+        environment = new MockEnvironment()
+                .withProperty("app.param.rateLimit.verificationSend.limit", "2")
+                .withProperty("app.param.rateLimit.verificationSend.ipLimit", "3")
+                .withProperty("app.param.rateLimit.verificationSend.window", "60");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void acquire_whenLocalLimitExceeded_thenRejectedWithoutRedis() {
+        RateLimiter rateLimiter = rateLimiter(true);
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE);
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE));
+
+        assertTrue(e.getRetryAfterSeconds() > 0 && e.getRetryAfterSeconds() <= 30);
+        verify(redisTemplate, times(2)).execute(anyScript(), anyList(), any(Object[].class));
+        assertEquals(1, rejected("local"));
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_CHECK, PHONE);
+    }
+
+    @Test
+    void acquire_whenIpLimitExceeded_thenOtherSubjectsFromSameIpRejected() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, "79000000001");
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, "79000000002");
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, "79000000003");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, "79000000004"));
+    }
+
+    @Test
+    void acquire_whenIpLimitDisabled_thenSubjectsFromSameIpNotLimitedTogether() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RateLimiter rateLimiter = new RateLimiter(redisTemplate, meterRegistry, environment, true, false, 1000, 30);
+
+        for (int i = 1; i <= 5; i++) {
+            rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, "7900000000" + i);
+        }
+
+        assertEquals(0, rejected("local"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_whenSharedLimitExceeded_thenRejected() {
+        when(redisTemplate.execute(anyScript(), anyList(), any(Object[].class))).thenReturn(1L);
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        assertThrows(TooManyRequestsException.class, () -> rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE));
+
+        assertEquals(1, rejected("redis"));
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(anyScript(), keys.capture(), any(Object[].class));
+        assertEquals(2, keys.getValue().size());
+        assertTrue(keys.getValue().get(0).startsWith("rate-limit:VERIFICATION_SEND:" + PHONE + ":"));
+    }
+
+    @Test
+    void acquire_whenRedisUnavailable_thenAllowedAndRedisSkippedForRetryDelay() {
+        when(redisTemplate.execute(anyScript(), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE);
+        rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE);
+
+        verify(redisTemplate, times(1)).execute(anyScript(), anyList(), any(Object[].class));
+        assertEquals(1, meterRegistry.counter("rate.limit.redis.errors").count());
+    }
+
+    @Test
+    void acquire_whenDisabled_thenNothingChecked() {
+        RateLimiter rateLimiter = rateLimiter(false);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire(RateLimitScope.VERIFICATION_SEND, PHONE);
+        }
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private RateLimiter rateLimiter(boolean enabled) {
+        return new RateLimiter(redisTemplate, meterRegistry, environment, enabled, true, 1000, 30);
+    }
+
+    private double rejected(String level) {
+        return meterRegistry.get("rate.limit.rejected")
+                .tag("scope", RateLimitScope.VERIFICATION_SEND.name())
+                .tag("level", level)
+                .counter().count();
+    }
+
+    private static RedisScript<Long> anyScript() {
+        return any();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.userservice.app.service;
 
+import com.example.userservice.app.cache.RegistrationInfoCache;
+import com.example.userservice.app.cache.UserInfoCache;
 import com.example.userservice.app.enums.ClientStatus;
 import com.example.userservice.app.feign.CreditServiceClient;
 import com.example.userservice.app.kafka.dto.RegisterUserDto;
@@ -9,6 +11,7 @@ import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.persistence.model.PassportData;
 import com.example.userservice.persistence.model.UserProfile;
+import com.example.userservice.persistence.projection.UserInfoView;
 import com.example.userservice.persistence.repository.ClientRepository;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.persistence.repository.UserProfileRepository;
@@ -29,11 +32,12 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -61,7 +65,16 @@ class ClientServiceTest {
     private CreditServiceClient creditServiceClient;
 
     @Mock
-    private KafkaTemplate<String, RegisterUserDto> registerUserProducer;
+    private OutboxService outboxService;
+
+    @Mock
+    private RegistrationInfoCache registrationInfoCache;
+
+    @Mock
+    private ProductCheckService productCheckService;
+
+    @Mock
+    private UserInfoCache userInfoCache;
 
     @InjectMocks
     private ClientServiceImpl clientService;
@@ -89,6 +102,11 @@ class ClientServiceTest {
         client.setContact(contact);
         client.setUserProfile(userProfile);
         client.setId(UUID.randomUUID());
+
+        when(registrationInfoCache.get(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Function<String, RegistrationInfoDTO>>getArgument(1).apply(invocation.getArgument(0)));
+        when(userInfoCache.get(any(UUID.class), any())).thenAnswer(invocation ->
+                invocation.<Function<UUID, UserInfoView>>getArgument(1).apply(invocation.getArgument(0)));
     }
 
     @Test
@@ -143,6 +161,7 @@ class ClientServiceTest {
                 "ABC123abc/", "what do you know?", "nothing"
         );
         Client client = new Client();
+        client.setId(UUID.randomUUID());
         Contact contact = new Contact(nonClientDto.getMobilePhone());
         PassportData passportData = new PassportData(client, nonClientDto.getPassportNumber(),
                 nonClientDto.getIssuanceDate(), nonClientDto.getPlaceOfIssue(),
@@ -159,7 +178,8 @@ class ClientServiceTest {
         clientService.nonClientRegistration(nonClientDto);
 
         verify(clientRepository).save(client);
-        verify(registerUserProducer).send("register-user",
+        verify(registrationInfoCache).evict(nonClientDto.getMobilePhone());
+        verify(outboxService).enqueueRegisterUser(
                 new RegisterUserDto(client.getId(), client.getContact().getEmail(), ClientFlow.NEW));
 
     }
@@ -171,7 +191,7 @@ class ClientServiceTest {
         Client client = new Client("Bob", "Miller", "USA", ClientStatus.NOT_ACTIVE);
         client.setId(clientDto.getId());
         Optional<Client> clientOptional = Optional.of(client);
-        when(clientRepository.findById(clientDto.getId()))
+        when(clientRepository.findWithContactAndUserProfileById(clientDto.getId()))
                 .thenReturn(clientOptional);
 
         Contact contact = new Contact(clientDto.getMobilePhone());
@@ -187,7 +207,12 @@ class ClientServiceTest {
                 .thenReturn(new ResponseEntity<>(HttpStatusCode.valueOf(200)));
 
         clientService.clientRegistration(clientDto);
-        verify(clientRepository).save(client);
+
+        assertEquals(contact, client.getContact());
+        assertEquals(userProfile, client.getUserProfile());
+        assertEquals(ClientStatus.IN_PROCESSING, client.getClientStatus());
+        verify(registrationInfoCache).evict(clientDto.getMobilePhone());
+        verify(userInfoCache).evict(clientDto.getId());
     }
 
     @Test
@@ -195,8 +220,8 @@ class ClientServiceTest {
         ClientDto clientDto = new ClientDto(UUID.randomUUID(), "79370458234", "bob.millera@gmail.com",
                 "ABC123abc/", "what is your pet name?", "barsik");
 
-        when(clientRepository.findById(clientDto.getId()))
-                .thenThrow(UnprocessableEntityException.class);
+        when(clientRepository.findWithContactAndUserProfileById(clientDto.getId()))
+                .thenReturn(Optional.empty());
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
                 clientService.clientRegistration(clientDto));
@@ -204,11 +229,13 @@ class ClientServiceTest {
 
     @Test
     void getUserInfoDto_whenNormal_thenReturnUserInfoDto() {
-        when(clientRepository.findById(client.getId()))
-                .thenReturn(Optional.of(client));
         UserInfoDto expected = new UserInfoDto(client.getFirstName(), client.getLastName(), client.getSurname(),
                 client.getContact().getEmail(), client.getContact().getMobilePhone(),
                 client.getPassportData().getIdentificationPassportNumber());
+        when(clientRepository.findUserInfoViewById(client.getId()))
+                .thenReturn(Optional.of(new UserInfoView(expected.getFirstName(), expected.getLastName(),
+                        expected.getSurname(), expected.getEmail(), expected.getMobilePhone(),
+                        expected.getPassportNumber())));
         UserInfoDto userInfoDto = clientService.getUserInfoById(client.getId());
 
         assertAll(
@@ -224,8 +251,7 @@ class ClientServiceTest {
 
     @Test
     void getUserInfoDto_whenNotFound_throwNotFoundException() {
-        doThrow(new NotFoundException("Client Not Found"))
-                .when(clientRepository).findById(client.getId());
+        when(clientRepository.findUserInfoViewById(client.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> clientService.getUserInfoById(client.getId()));
     }
@@ -239,19 +265,44 @@ class ClientServiceTest {
         verify(clientRepository).changeClientStatusById(id, clientStatusForChanging);
     }
 
+    @Test
+    void changeClientStatus_whenSeveralClients_thenSingleUpdate() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(contactRepository.findMobilePhonesByClientIds(ids)).thenReturn(List.of("79370458234", "79279348456"));
+
+        clientService.changeClientStatus(ids, ClientStatus.NOT_ACTIVE);
+
+        verify(clientRepository).changeClientStatusByIds(ids, ClientStatus.NOT_ACTIVE);
+        verify(clientRepository, never()).changeClientStatusById(any(UUID.class), any(ClientStatus.class));
+        verify(registrationInfoCache).evict("79370458234");
+        verify(registrationInfoCache).evict("79279348456");
+    }
+
+    @Test
+    void changeClientStatus_whenContactExists_thenEvictRegistrationInfo() {
+        UUID id = UUID.randomUUID();
+        when(contactRepository.findMobilePhoneByClientId(id)).thenReturn(Optional.of("79370458234"));
+
+        clientService.changeClientStatus(id, ClientStatus.ACTIVE);
+
+        verify(registrationInfoCache).evict("79370458234");
+    }
+
     @Test
     void cancelClientRegistration_whenClientIdExist_thenChangeInRepository() {
-        when(clientRepository.findById(client.getId())).thenReturn(Optional.of(client));
+        when(clientRepository.findWithContactAndUserProfileById(client.getId())).thenReturn(Optional.of(client));
         clientService.cancelClientRegistration(client.getId());
 
         verify(clientRepository).changeClientStatusById(client.getId(), ClientStatus.NOT_CLIENT);
+        verify(registrationInfoCache).evict("79370458234");
+        verify(userInfoCache).evict(client.getId());
         assertEquals(null, client.getContact());
         assertEquals(null, client.getUserProfile());
     }
 
     @Test
     void cancelClientRegistration_whenClientIdNotExist_thenDoNothing() {
-        when(clientRepository.findById(client.getId())).thenReturn(Optional.empty());
+        when(clientRepository.findWithContactAndUserProfileById(client.getId())).thenReturn(Optional.empty());
         clientService.cancelClientRegistration(client.getId());
 
         verify(clientRepository, never()).changeClientStatusById(any(UUID.class), any(ClientStatus.class));
@@ -260,4 +311,12 @@ class ClientServiceTest {
 
     }
 
+    @Test
+    void hasActiveProducts_thenDelegatedToProductCheck() {
+        UUID id = UUID.randomUUID();
+        when(productCheckService.hasActiveProducts(id)).thenReturn(true);
+
+        Assertions.assertTrue(clientService.hasActiveProducts(id));
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.example.userservice.app.service;
 
-
+import com.example.userservice.app.cache.UserInfoCache;
 import com.example.userservice.app.service.impl.ContactServiceImpl;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
@@ -12,6 +12,7 @@ import com.example.userservice.web.controller.exception.DuplicateException;
 import com.example.userservice.web.controller.exception.NotFoundException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.dto.requests.EmailAndPassportDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
 import com.example.userservice.web.dto.responses.NotificationsInfoDto;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
@@ -20,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.slf4j.Logger;
 
 import java.util.Optional;
@@ -28,6 +30,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,51 +50,120 @@ class ContactServiceImplTest {
     Logger logger;
     @Mock
     private PassportDataRepository passportDataRepository;
+    @Mock
+    private UserInfoCache userInfoCache;
     @InjectMocks
     private ContactServiceImpl service;
 
 
     @Test
-    void changeEmail_whenAllParamsOk_thenSavingInRepository() {
-        when(repository.findContactByClient_Id(ID)).thenReturn(Optional.of(contact));
-        when(repository.findContactByEmail(EMAIL)).thenReturn(Optional.empty());
-        when(repository.save(contact)).thenReturn(contact);
+    void changeEmail_whenAllParamsOk_thenUpdatingInRepository() {
+        when(repository.updateEmailByClientId(ID, EMAIL)).thenReturn(1);
 
-        service.changeEmail(ID, EMAIL);
+        service.changeEmail(ID, "Batman@Yandex.RU");
 
-        verify(repository, times(1)).save(contact);
+        verify(repository, times(1)).updateEmailByClientId(ID, EMAIL);
+        verify(repository, never()).findContactByEmail(EMAIL);
+        verify(userInfoCache).evict(ID);
     }
 
     @Test
     void changeEmail_whenUserNotFound_thenThrowingException() {
-        when(repository.findContactByClient_Id(ID)).thenReturn(Optional.empty());
+        when(repository.updateEmailByClientId(ID, EMAIL)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> service.changeEmail(ID, EMAIL));
 
-        verify(repository, never()).save(contact);
+        verify(userInfoCache, never()).evict(ID);
     }
 
     @Test
     void changeEmail_whenEmailIsTakenAlready_thenThrowingException() {
-        when(repository.findContactByClient_Id(ID)).thenReturn(Optional.of(contact));
-        when(repository.findContactByEmail(EMAIL)).thenReturn(Optional.of(contact));
+        when(repository.updateEmailByClientId(ID, EMAIL))
+                .thenThrow(new DataIntegrityViolationException("idx_db_contacts_on_email"));
+
+        assertThrows(DuplicateException.class, () -> service.changeEmail(ID, EMAIL));
+
+        verify(userInfoCache, never()).evict(ID);
+    }
+
+    @Test
+    void changeEmail_whenEmailIsClientsOwn_thenThrowingException() {
+        when(repository.updateEmailByClientId(ID, EMAIL)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(true);
 
         assertThrows(DuplicateException.class, () -> service.changeEmail(ID, EMAIL));
 
-        verify(repository, never()).save(contact);
+        verify(userInfoCache, never()).evict(ID);
+    }
+
+    @Test
+    void changePushNotificationsTest_whenAllParamsOk_thenUpdatingInRepository() {
+        when(repository.updateNotificationsByClientId(ID, null, true, null)).thenReturn(1);
+
+        service.changePushNotifications(ID, true);
+
+        verify(repository, times(1)).updateNotificationsByClientId(ID, null, true, null);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void changePushNotificationsTest_whenUserNotFound_thenThrowingException() {
+        when(repository.updateNotificationsByClientId(ID, null, true, null)).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> service.changePushNotifications(ID, true));
+    }
+
+    @Test
+    void changeEmailNotifications_whenNothingUpdated_thenThrowingException() {
+        when(repository.updateEmailNotificationByClientId(ID, true)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> service.changeEmailNotifications(ID, true));
+    }
+
+    @Test
+    void changeEmailNotifications_whenUserNotFound_thenThrowingException() {
+        when(repository.updateEmailNotificationByClientId(ID, true)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.changeEmailNotifications(ID, true));
+    }
+
+    @Test
+    void changeNotifications_whenAllParamsOk_thenOneUpdateInRepository() {
+        when(repository.updateNotificationsByClientId(ID, true, false, null)).thenReturn(1);
+
+        service.changeNotifications(ID, new NotificationSettingsDto(true, false, null));
+
+        verify(repository, times(1)).updateNotificationsByClientId(ID, true, false, null);
+        verify(repository, never()).existsByClient_Id(ID);
+    }
+
+    @Test
+    void changeNotifications_whenNoSettingsPassed_thenThrowingException() {
+        assertThrows(BadRequestException.class,
+                () -> service.changeNotifications(ID, new NotificationSettingsDto()));
+
+        verify(repository, never()).updateNotificationsByClientId(any(), any(), any(), any());
     }
 
     @Test
-    void changePushNotificationsTest_whenAllParamsOk_thenSavingInRepository() {
-        contact.setPushNotificationEnable(false);
-        Contact expectedContact = new Contact();
-        expectedContact.setPushNotificationEnable(true);
-        when(repository.save(contact)).thenReturn(expectedContact);
+    void changeNotifications_whenUserNotFound_thenThrowingException() {
+        when(repository.updateNotificationsByClientId(ID, null, null, true)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(false);
 
-        service.changePushNotifications(contact, true);
+        assertThrows(NotFoundException.class,
+                () -> service.changeNotifications(ID, new NotificationSettingsDto(null, null, true)));
+    }
+
+    @Test
+    void changeNotifications_whenEmailSubscriptionWithoutEmail_thenThrowingException() {
+        when(repository.updateNotificationsByClientId(ID, null, null, true)).thenReturn(0);
+        when(repository.existsByClient_Id(ID)).thenReturn(true);
 
-        verify(repository, times(1)).save(contact);
-        Assert.assertEquals(true, expectedContact.getPushNotificationEnable());
+        assertThrows(BadRequestException.class,
+                () -> service.changeNotifications(ID, new NotificationSettingsDto(null, null, true)));
     }
 
     @Test
@@ -157,22 +229,20 @@ class ContactServiceImplTest {
     @Test
     void changePushNotificationsTest_whenClientIdNotExist_thenThrowException() {
         UUID nonExistClientId = UUID.randomUUID();
-        when(repository.findContactByClient_Id(nonExistClientId)).thenReturn(Optional.empty());
+        when(repository.updateNotificationsByClientId(nonExistClientId, false, null, null)).thenReturn(0);
 
         assertThrows(BadRequestException.class, () ->
                 service.changeSmsNotifications(nonExistClientId, false));
     }
 
     @Test
-    void changePushNotificationsTest_whenClientIdExist_thenSavingInRepository() {
+    void changePushNotificationsTest_whenClientIdExist_thenUpdatingInRepository() {
         UUID existClientId = UUID.randomUUID();
-        Contact contact = new Contact(UUID.randomUUID(), new Client(), true,
-                true, false, null, "72235467312");
-
-        when(repository.findContactByClient_Id(existClientId)).thenReturn(Optional.of(contact));
+        when(repository.updateNotificationsByClientId(existClientId, false, null, null)).thenReturn(1);
 
         service.changeSmsNotifications(existClientId, false);
-        contact.setSmsNotificationEnable(false);
-        verify(repository).save(contact);
+
+        verify(repository).updateNotificationsByClientId(existClientId, false, null, null);
+        verify(repository, never()).findContactByClient_Id(existClientId);
     }
 }
\ No newline at end of file
@@ -1,9 +1,8 @@
 package com.example.userservice.app.service;
 
+import com.example.userservice.app.enums.ClientStatus;
 import com.example.userservice.app.service.impl.LoginServiceImpl;
-import com.example.userservice.persistence.model.Client;
-import com.example.userservice.persistence.model.Contact;
-import com.example.userservice.persistence.model.PassportData;
+import com.example.userservice.persistence.projection.LoginView;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.persistence.repository.PassportDataRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
@@ -24,6 +23,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @SpringBootTest
 class LoginServiceTest {
 
+    private static final String PASSWORD_ENCODED = "$2a$10$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.";
+
     @Mock
     private UserProfileService userProfileService;
 
@@ -41,15 +42,11 @@ class LoginServiceTest {
         LoginRequestDto loginRequestDto = new LoginRequestDto("login", "password", "PASSPORT_NUMBER");
 
         UUID idClient = UUID.randomUUID();
-        Client client = new Client();
-        client.setId(idClient);
-
-        PassportData passportData = new PassportData();
-        passportData.setClient(client);
+        LoginView loginView = new LoginView(idClient, PASSWORD_ENCODED, ClientStatus.ACTIVE);
 
-        Mockito.when(passportDataRepository.findPassportDataByIdentificationPassportNumber(Mockito.anyString()))
-                .thenReturn(Optional.of(passportData));
-        Mockito.when(userProfileService.passwordExists(Mockito.any(), Mockito.anyString())).thenReturn(true);
+        Mockito.when(passportDataRepository.findLoginViewByPassportNumber("login"))
+                .thenReturn(Optional.of(loginView));
+        Mockito.when(userProfileService.passwordMatches(idClient, PASSWORD_ENCODED, "password")).thenReturn(true);
 
         assertEquals(idClient, loginService.login(loginRequestDto));
     }
@@ -59,24 +56,21 @@ class LoginServiceTest {
         LoginRequestDto loginRequestDto = new LoginRequestDto("login", "password", "PHONE_NUMBER");
 
         UUID idClient = UUID.randomUUID();
-        Client client = new Client();
-        client.setId(idClient);
+        LoginView loginView = new LoginView(idClient, PASSWORD_ENCODED, ClientStatus.ACTIVE);
 
-        Contact contact = new Contact();
-        contact.setClient(client);
-
-        Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString()))
-                .thenReturn(Optional.of(contact));
-        Mockito.when(userProfileService.passwordExists(Mockito.any(), Mockito.anyString())).thenReturn(true);
+        Mockito.when(contactRepository.findLoginViewByMobilePhone("login"))
+                .thenReturn(Optional.of(loginView));
+        Mockito.when(userProfileService.passwordMatches(idClient, PASSWORD_ENCODED, "password")).thenReturn(true);
 
         assertEquals(idClient, loginService.login(loginRequestDto));
+        Mockito.verify(userProfileService, Mockito.never()).passwordExists(Mockito.any(), Mockito.anyString());
     }
 
     @Test
     void invalidLoginTest() {
         LoginRequestDto loginRequestDto = new LoginRequestDto("login", "password", "PHONE_NUMBER");
 
-        Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString()))
+        Mockito.when(contactRepository.findLoginViewByMobilePhone(Mockito.anyString()))
                 .thenReturn(Optional.empty());
 
         assertThrows(UnprocessableEntityException.class, () -> loginService.login(loginRequestDto));
@@ -87,18 +81,15 @@ class LoginServiceTest {
         LoginRequestDto loginRequestDto = new LoginRequestDto("login", "password", "PHONE_NUMBER");
 
         UUID idClient = UUID.randomUUID();
-        Client client = new Client();
-        client.setId(idClient);
-
-        Contact contact = new Contact();
-        contact.setClient(client);
+        LoginView loginView = new LoginView(idClient, PASSWORD_ENCODED, ClientStatus.ACTIVE);
 
-        Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString()))
-                .thenReturn(Optional.of(contact));
+        Mockito.when(contactRepository.findLoginViewByMobilePhone(Mockito.anyString()))
+                .thenReturn(Optional.of(loginView));
 
-        Mockito.when(userProfileService.passwordExists(Mockito.any(), Mockito.anyString())).thenReturn(false);
+        Mockito.when(userProfileService.passwordMatches(Mockito.any(), Mockito.any(), Mockito.anyString()))
+                .thenReturn(false);
 
         assertThrows(BadRequestException.class, () -> loginService.login(loginRequestDto));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.example.userservice.app.service;
+
+import com.example.userservice.app.kafka.dto.RegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.persistence.model.OutboxMessage;
+import com.example.userservice.persistence.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    void enqueueRegisterUser_whenTransactionCommitted_thenMessageUnsentInOutbox() {
+        RegisterUserDto registerUserDto = new RegisterUserDto(UUID.randomUUID(), "john.snow@gmail.com", ClientFlow.NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.enqueueRegisterUser(registerUserDto));
+
+        List<OutboxMessage> messages = new TransactionTemplate(transactionManager).execute(status ->
+                outboxMessageRepository.findUnsentForUpdate(LocalDateTime.now(), PageRequest.of(0, 10)));
+        assertEquals(1, messages.size());
+        assertEquals("register-user", messages.get(0).getTopic());
+        assertEquals(registerUserDto.getClientId().toString(), messages.get(0).getMessageKey());
+        assertTrue(messages.get(0).getPayload().contains("john.snow@gmail.com"));
+        assertEquals(1, outboxMessageRepository.countUnsent());
+    }
+
+    @Test
+    void enqueueRegisterUser_whenTransactionRolledBack_thenNoMessage() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.enqueueRegisterUser(new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    @Test
+    void enqueueRegisterUser_whenNoTransaction_thenRejected() {
+        assertThrows(IllegalTransactionStateException.class, () -> outboxService.enqueueRegisterUser(
+                new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW)));
+    }
+
+    @Test
+    void markSent_thenMessageNoLongerUnsent() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.enqueueRegisterUser(new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.OLD)));
+        UUID id = outboxMessageRepository.findAll().get(0).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxMessageRepository.markSent(List.of(id), LocalDateTime.now()));
+
+        assertEquals(0, outboxMessageRepository.countUnsent());
+        assertTrue(outboxMessageRepository.findOldestUnsentCreatedAt().isEmpty());
+    }
+
+    @Test
+    void claim_thenMessageNotTakenUntilClaimExpires() {
+        UUID id = enqueue();
+        LocalDateTime now = LocalDateTime.now();
+
+        inTransaction(() -> outboxMessageRepository.claim(List.of(id), now.plusSeconds(60)));
+
+        assertTrue(findUnsent(now).isEmpty());
+        assertEquals(List.of(id), findUnsent(now.plusSeconds(61)).stream().map(OutboxMessage::getId).toList());
+        assertEquals(1, outboxMessageRepository.countUnsent());
+    }
+
+    @Test
+    void recordFailedAttempt_whenMaxAttemptsReached_thenMessageTakenOutOfQueue() {
+        UUID id = enqueue();
+        LocalDateTime now = LocalDateTime.now();
+
+        inTransaction(() -> outboxMessageRepository.recordFailedAttempt(List.of(id), now, 2));
+        assertEquals(1, outboxMessageRepository.findById(id).orElseThrow().getAttempts());
+        assertEquals(1, findUnsent(now).size());
+
+        inTransaction(() -> outboxMessageRepository.recordFailedAttempt(List.of(id), now, 2));
+        assertTrue(findUnsent(now).isEmpty());
+        assertEquals(0, outboxMessageRepository.countUnsent());
+        assertEquals(1, outboxMessageRepository.countFailed());
+    }
+
+    @Test
+    void markFailed_thenMessageNoLongerUnsent() {
+        UUID id = enqueue();
+
+        inTransaction(() -> outboxMessageRepository.markFailed(List.of(id), LocalDateTime.now()));
+
+        assertTrue(findUnsent(LocalDateTime.now()).isEmpty());
+        assertTrue(outboxMessageRepository.findOldestUnsentCreatedAt().isEmpty());
+    }
+
+    private UUID enqueue() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.enqueueRegisterUser(new RegisterUserDto(UUID.randomUUID(), "a@mail.ru", ClientFlow.NEW)));
+        return outboxMessageRepository.findAll().get(0).getId();
+    }
+
+    private List<OutboxMessage> findUnsent(LocalDateTime now) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                outboxMessageRepository.findUnsentForUpdate(now, PageRequest.of(0, 10)));
+    }
+
+    private void inTransaction(Runnable runnable) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> runnable.run());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.userservice.app.service;
+
+import com.example.userservice.app.service.impl.PasswordHashingServiceImpl;
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private static final String PASSWORD = "Pa$$w0rd";
+
+    @Test
+    void encode_thenMatchesWithConfiguredCost() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingServiceImpl(4, false, 1, 1, 1000, meterRegistry);
+
+        String encoded = service.encode(PASSWORD);
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(service.matches(PASSWORD, encoded));
+        assertFalse(service.matches("wrong", encoded));
+        assertFalse(service.needsRehash(encoded));
+        assertEquals(1, meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void needsRehash_whenStoredCostDiffers_thenTrue() {
+        PasswordHashingService service = new PasswordHashingServiceImpl(5, false, 1, 1, 1000, new SimpleMeterRegistry());
+
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(6).encode(PASSWORD)));
+        assertFalse(service.needsRehash("plain text"));
+        assertFalse(service.needsRehash(null));
+    }
+
+    @Test
+    void matches_onExecutor_thenSameResult() {
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(4, true, 2, 10, 5000,
+                new SimpleMeterRegistry());
+        try {
+            String encoded = service.encode(PASSWORD);
+
+            assertTrue(service.matches(PASSWORD, encoded));
+            assertFalse(service.matches("wrong", encoded));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void matches_whenExecutorSaturated_thenServiceUnavailable() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(14, true, 1, 1, 5000, meterRegistry);
+        String encoded = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                callers.submit(() -> {
+                    started.countDown();
+                    return service.encode(PASSWORD);
+                });
+            }
+            started.await(1, TimeUnit.SECONDS);
+            waitForQueue(meterRegistry);
+
+            assertThrows(ServiceUnavailableException.class, () -> service.matches(PASSWORD, encoded));
+            assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+        } finally {
+            callers.shutdownNow();
+            service.shutdown();
+        }
+    }
+
+    private static void waitForQueue(SimpleMeterRegistry meterRegistry) {
+        CompletableFuture.runAsync(() -> {
+            while (meterRegistry.get("password.hash.queue.size").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+        }).orTimeout(5, TimeUnit.SECONDS).join();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.userservice.app.service;
+
+import com.example.userservice.app.feign.CreditServiceClient;
+import com.example.userservice.app.feign.DepositServiceClient;
+import com.example.userservice.app.service.impl.ProductCheckServiceImpl;
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Feign clients call a local stub server, each endpoint answers with a configured status after a delay.
+ */
+class ProductCheckServiceTest {
+
+    private static final int TIMEOUT_MILLIS = 1500;
+
+    private HttpServer server;
+
+    private final StubEndpoint credits = new StubEndpoint();
+
+    private final StubEndpoint deposits = new StubEndpoint();
+
+    private ProductCheckServiceImpl productCheckService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/credit/api/v1/credits", credits::handle);
+        server.createContext("/deposit/api/v1/deposits", deposits::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        productCheckService = new ProductCheckServiceImpl(
+                client(CreditServiceClient.class, baseUrl + "/credit/api/v1"),
+                client(DepositServiceClient.class, baseUrl + "/deposit/api/v1"),
+                new SimpleMeterRegistry(), TIMEOUT_MILLIS, 8, 30, 100, 4, 50, 4, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCheckService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void hasActiveProducts_whenBothServicesSlow_thenLatencyIsMaxNotSum() {
+        credits.respond(404, 400);
+        deposits.respond(404, 400);
+
+        long start = System.nanoTime();
+        boolean hasActiveProducts = productCheckService.hasActiveProducts(UUID.randomUUID());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(hasActiveProducts);
+        assertTrue(elapsedMillis < 750, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void hasActiveProducts_whenCreditPositive_thenSlowDepositNotAwaited() {
+        credits.respond(200, 0);
+        deposits.respond(404, 1000);
+
+        long start = System.nanoTime();
+        boolean hasActiveProducts = productCheckService.hasActiveProducts(UUID.randomUUID());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(hasActiveProducts);
+        assertTrue(elapsedMillis < 700, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void hasActiveProducts_whenCalledTwice_thenCachedPerClient() {
+        credits.respond(404, 0);
+        deposits.respond(200, 0);
+        UUID clientId = UUID.randomUUID();
+
+        assertTrue(productCheckService.hasActiveProducts(clientId));
+        assertTrue(productCheckService.hasActiveProducts(clientId));
+
+        assertEquals(1, deposits.requests.get());
+    }
+
+    @Test
+    void hasActiveProducts_whenOneServiceFailsAndOtherPositive_thenTrue() {
+        credits.respond(500, 0);
+        deposits.respond(200, 0);
+
+        assertTrue(productCheckService.hasActiveProducts(UUID.randomUUID()));
+    }
+
+    @Test
+    void hasActiveProducts_whenOneServiceFailsAndOtherNegative_thenServiceUnavailable() {
+        credits.respond(404, 0);
+        deposits.respond(500, 0);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> productCheckService.hasActiveProducts(UUID.randomUUID()));
+    }
+
+    @Test
+    void hasActiveProducts_whenServicesTooSlow_thenServiceUnavailable() {
+        credits.respond(404, TIMEOUT_MILLIS + 500);
+        deposits.respond(404, 0);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> productCheckService.hasActiveProducts(UUID.randomUUID()));
+    }
+
+    @Test
+    void hasActiveProducts_whenDepositServiceKeepsFailing_thenCircuitOpens() {
+        credits.respond(404, 0);
+        deposits.respond(500, 0);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServiceUnavailableException.class,
+                    () -> productCheckService.hasActiveProducts(UUID.randomUUID()));
+        }
+        int requestsBeforeOpen = deposits.requests.get();
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> productCheckService.hasActiveProducts(UUID.randomUUID()));
+
+        assertEquals(requestsBeforeOpen, deposits.requests.get());
+    }
+
+    private static <T> T client(Class<T> type, String url) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(HttpMessageConverters::new)))
+                .options(new Request.Options(500, TimeUnit.MILLISECONDS, 5000, TimeUnit.MILLISECONDS, true))
+                .target(type, url);
+    }
+
+    private static final class StubEndpoint {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private volatile int status = 404;
+
+        private volatile long delayMillis;
+
+        void respond(int status, long delayMillis) {
+            this.status = status;
+            this.delayMillis = delayMillis;
+        }
+
+        void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.userservice.app.service;
+
+import com.example.userservice.app.cache.UserInfoCache;
+import com.example.userservice.app.enums.ClientStatus;
+import com.example.userservice.persistence.model.Client;
+import com.example.userservice.web.controller.exception.BadRequestException;
+import com.example.userservice.web.controller.exception.DuplicateException;
+import com.example.userservice.web.dto.requests.ClientDto;
+import com.example.userservice.web.dto.requests.NonClientDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
+import com.example.userservice.web.dto.responses.NotificationsInfoDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Number of SQL statements of the {@code ClientService}, {@code UserProfileService} and {@code ContactService} operations against the
+ * seeded H2 database. Every operation runs with an empty persistence context and its changes are flushed before
+ * counting; the test transaction is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class ServiceStatementCountTest {
+
+    /** Клиент с контактом, паспортными данными и профилем */
+    private static final UUID CLIENT_ID = UUID.fromString("61f0c404-5cb3-11e7-907b-a6006ad3dba0");
+
+    /** Клиент с контактом, без профиля */
+    private static final UUID UNREGISTERED_CLIENT_ID = UUID.fromString("f8cc71da-9a6d-11ee-b9d1-0242ac120002");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private UserInfoCache userInfoCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findById_thenOneSelectOfClientOnly() throws Exception {
+        Client client = clientService.findById(CLIENT_ID);
+
+        assertStatements(1);
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertFalse(entityManagerFactory.getPersistenceUnitUtil().isLoaded(client, "contact"));
+    }
+
+    @Test
+    void getUserInfoById_thenOneProjectionSelectThenServedFromCache() {
+        userInfoCache.evict(CLIENT_ID);
+
+        clientService.getUserInfoById(CLIENT_ID);
+        clientService.getUserInfoById(CLIENT_ID);
+
+        assertStatements(1);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void clientRegistration_thenSelectAndWritesOnly() {
+        clientService.clientRegistration(new ClientDto(UNREGISTERED_CLIENT_ID, "79000000001", "new@mail.ru",
+                "Password1!", "question", "answer"));
+
+        // select client + contact + profile, delete old contact, insert contact, insert profile, update client
+        assertStatements(5);
+    }
+
+    @Test
+    void nonClientRegistration_thenInsertsOnly() {
+        clientService.nonClientRegistration(new NonClientDto("Иван", "Иванов", "Russian Federation",
+                "79000000002", "ivanov@mail.ru", "1234567890", LocalDate.of(2020, 1, 1), "Moscow",
+                LocalDate.of(2030, 1, 1), LocalDate.of(1990, 1, 1), "Password1!", "question", "answer"));
+
+        // client, contact, passport data, user profile, outbox message
+        assertStatements(5);
+    }
+
+    @Test
+    void changeClientStatus_thenUpdateAndPhoneLookup() {
+        clientService.changeClientStatus(CLIENT_ID, ClientStatus.ACTIVE);
+
+        assertStatements(2);
+    }
+
+    @Test
+    void cancelClientRegistration_thenSelectUpdateAndTwoDeletes() {
+        clientService.cancelClientRegistration(CLIENT_ID);
+
+        assertStatements(4);
+    }
+
+    @Test
+    void findUserProfileByClientId_thenOneSelectWithoutClient() {
+        userProfileService.findUserProfileByClientId(CLIENT_ID);
+
+        assertStatements(1);
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void passwordExists_thenOneSelect() {
+        userProfileService.passwordExists(CLIENT_ID, "wrong password");
+
+        assertStatements(1);
+    }
+
+    @Test
+    void updatePassword_thenSelectAndUpdate() {
+        userProfileService.updatePassword(CLIENT_ID, "Password1!");
+
+        assertStatements(2);
+    }
+
+    @Test
+    void resetPassword_thenClientSelectProfileSelectAndUpdate() {
+        userProfileService.resetPassword(CLIENT_ID, "Password1!");
+
+        assertStatements(3);
+    }
+
+    @Test
+    void updateSecurityQuestion_thenSelectAndUpdate() {
+        userProfileService.updateSecurityQuestion(CLIENT_ID, "question", "answer");
+
+        assertStatements(2);
+    }
+
+    @Test
+    void saveFingerprint_thenClientSelectProfileSelectAndUpdate() {
+        userProfileService.saveFingerprint(CLIENT_ID, "123456");
+
+        assertStatements(3);
+    }
+
+    @Test
+    void authorizationByFingerprint_thenOneSelect() {
+        userProfileService.saveFingerprint(CLIENT_ID, "654321");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        userProfileService.authorizationByFingerprint(CLIENT_ID.toString(), "654321");
+
+        assertStatements(1);
+    }
+
+    @Test
+    void changeNotifications_thenOneUpdateWithoutSelect() {
+        contactService.changeNotifications(CLIENT_ID, new NotificationSettingsDto(false, false, true));
+
+        assertStatements(1);
+        NotificationsInfoDto notificationsInfo = contactService.getNotificationsInfoByClientId(CLIENT_ID);
+        assertEquals(new NotificationsInfoDto("t.andreeva@mail.ru", false, false, true), notificationsInfo);
+    }
+
+    @Test
+    void changeSmsNotifications_thenOneUpdateWithoutSelect() {
+        contactService.changeSmsNotifications(CLIENT_ID, false);
+
+        assertStatements(1);
+    }
+
+    @Test
+    void changeEmailNotifications_thenOneConditionalUpdate() {
+        contactService.changeEmailNotifications(CLIENT_ID, true);
+
+        assertStatements(1);
+        assertThrows(BadRequestException.class, () -> contactService.changeEmailNotifications(CLIENT_ID, true));
+    }
+
+    @Test
+    void changeEmail_thenOneUpdateWithoutSelects() {
+        contactService.changeEmail(CLIENT_ID, "T.Andreeva.New@mail.ru");
+
+        assertStatements(1);
+        assertEquals("t.andreeva.new@mail.ru", contactService.findContactByClientId(CLIENT_ID).getEmail());
+    }
+
+    @Test
+    void changeEmail_whenEmailTakenInAnotherCase_thenDuplicateFromUniqueIndex() {
+        assertThrows(DuplicateException.class, () -> contactService.changeEmail(CLIENT_ID, "A.Petrov@mail.ru"));
+    }
+
+    private void assertStatements(long expected) {
+        entityManager.flush();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.userservice.app.service;
 
+import com.example.userservice.app.cache.FingerprintRejectionCache;
 import com.example.userservice.app.enums.AuthorizationType;
+import com.example.userservice.app.service.fingerprint.FingerprintHasher;
 import com.example.userservice.app.service.impl.UserProfileServiceImpl;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.UserProfile;
+import com.example.userservice.persistence.projection.FingerprintView;
 import com.example.userservice.persistence.repository.ClientRepository;
 import com.example.userservice.persistence.repository.UserProfileRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
@@ -13,10 +16,12 @@ import com.example.userservice.web.controller.exception.NotFoundException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.dto.requests.AuthorizationTypeIncomingDto;
 import com.example.userservice.web.dto.responses.AuthResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -26,6 +31,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -47,6 +53,16 @@ class UserProfileServiceTest {
     @Mock
     private BCryptPasswordEncoder encoder;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Spy
+    private FingerprintHasher fingerprintHasher = new FingerprintHasher("test-fingerprint-hash-key");
+
+    @Spy
+    private FingerprintRejectionCache fingerprintRejectionCache =
+            new FingerprintRejectionCache(new SimpleMeterRegistry(), 1000, 30);
+
     @InjectMocks
     private UserProfileServiceImpl userProfileService;
 
@@ -85,6 +101,7 @@ class UserProfileServiceTest {
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(new Client()));
         when(userProfileRepository.findUserProfileByClient(any(Client.class))).thenReturn(Optional.of(new UserProfile()));
         when(userProfileRepository.save(any())).thenReturn(new UserProfile());
+        when(passwordHashingService.encode("Pa$$w0rd")).thenReturn("$2a$10$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.");
 
         assertEquals(HttpStatus.OK, userProfileService.resetPassword(UUID.randomUUID(),
                 "Pa$$w0rd"));
@@ -124,6 +141,7 @@ class UserProfileServiceTest {
         profile.setPasswordEncoded(encoder.encode(oldPassword));
 
         when(userProfileRepository.findUserProfileByClientId(clientId)).thenReturn(profile);
+        when(passwordHashingService.encode(newPassword)).thenReturn("$2a$10$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.");
         userProfileService.updatePassword(clientId, newPassword);
 
         verify(userProfileRepository).save(profile);
@@ -162,6 +180,41 @@ class UserProfileServiceTest {
         verify(encoder, times(1)).matches(wrongPassword, encodedPassword);
     }
 
+    @Test
+    void passwordExists_whenStoredCostDiffers_thenPasswordIsRehashed() {
+        UUID clientId = UUID.randomUUID();
+        String password = "Pa$$w0rd";
+        String encodedPassword = "$2a$08$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.";
+        String rehashedPassword = "$2a$10$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.";
+
+        UserProfile userProfile = new UserProfile();
+        userProfile.setPasswordEncoded(encodedPassword);
+
+        when(userProfileRepository.findUserProfileByClientId(clientId)).thenReturn(userProfile);
+        when(passwordHashingService.matches(password, encodedPassword)).thenReturn(true);
+        when(passwordHashingService.needsRehash(encodedPassword)).thenReturn(true);
+        when(passwordHashingService.encode(password)).thenReturn(rehashedPassword);
+
+        assertTrue(userProfileService.passwordExists(clientId, password));
+        verify(userProfileRepository).updatePasswordEncodedByClientId(clientId, encodedPassword, rehashedPassword);
+    }
+
+    @Test
+    void passwordExists_whenPasswordDoesNotMatch_thenPasswordIsNotRehashed() {
+        UUID clientId = UUID.randomUUID();
+        String encodedPassword = "$2a$08$teBfwK/XgvfczEmnqwAKz.FwEXqS1zO.h5/.84d.TwfkhU6rQbTF.";
+
+        UserProfile userProfile = new UserProfile();
+        userProfile.setPasswordEncoded(encodedPassword);
+
+        when(userProfileRepository.findUserProfileByClientId(clientId)).thenReturn(userProfile);
+        when(passwordHashingService.matches("wrong", encodedPassword)).thenReturn(false);
+
+        assertFalse(userProfileService.passwordExists(clientId, "wrong"));
+        verify(passwordHashingService, never()).encode(any());
+        verify(userProfileRepository, never()).updatePasswordEncodedByClientId(any(), any(), any());
+    }
+
     @Test
     public void updateSecurityQuestion_Success() {
         UUID clientId = UUID.randomUUID();
@@ -216,7 +269,8 @@ class UserProfileServiceTest {
 
         verify(userProfileRepository, times(1)).save(userProfile);
         assertEquals(HttpStatus.OK, result);
-        assertEquals(fingerprint, userProfile.getFingerprint());
+        assertEquals(fingerprintHasher.hash(id, fingerprint), userProfile.getFingerprintHash());
+        assertNull(userProfile.getFingerprint());
     }
 
     @Test
@@ -253,54 +307,111 @@ class UserProfileServiceTest {
     void authorizationByFingerprint_ValidFingerprint_ReturnsAuthResponseDto() {
         String fingerprint = "122112";
         UUID clientId = UUID.randomUUID();
-        String requestId = clientId.toString();
-        Client client = new Client();
-        client.setId(clientId);
-        UserProfile userProfile = new UserProfile();
-        userProfile.setClient(client);
-        userProfile.setFingerprint(fingerprint);
-        AuthResponseDto expectedResponse = new AuthResponseDto(clientId);
+        FingerprintView view = new FingerprintView(fingerprintHasher.hash(clientId, fingerprint), null);
+
+        when(userProfileRepository.findFingerprintViewByClientId(clientId)).thenReturn(Optional.of(view));
+
+        AuthResponseDto result = userProfileService.authorizationByFingerprint(clientId.toString(), fingerprint);
+
+        assertEquals(clientId, result.getClientId());
+        verify(userProfileRepository, times(1)).findFingerprintViewByClientId(clientId);
+        verifyNoInteractions(clientRepository);
+    }
 
-        when(clientRepository.findById(UUID.fromString(requestId))).thenReturn(Optional.of(client));
-        when(userProfileRepository.findUserProfileByClient(client)).thenReturn(Optional.of(userProfile));
+    @Test
+    void authorizationByFingerprint_ClientNotFound_ThrowsBadRequestException() {
+        UUID clientId = UUID.randomUUID();
+
+        when(userProfileRepository.findFingerprintViewByClientId(clientId)).thenReturn(Optional.empty());
+
+        assertThrows(BadRequestException.class,
+                () -> userProfileService.authorizationByFingerprint(clientId.toString(), "122112"));
+        verify(userProfileRepository, times(1)).findFingerprintViewByClientId(clientId);
+    }
+
+    @Test
+    void authorizationByFingerprint_InvalidFingerprint_ThrowsBadRequestException() {
+        UUID clientId = UUID.randomUUID();
+        FingerprintView view = new FingerprintView(fingerprintHasher.hash(clientId, "222222"), null);
 
-        AuthResponseDto result = userProfileService.authorizationByFingerprint(requestId, fingerprint);
+        when(userProfileRepository.findFingerprintViewByClientId(clientId)).thenReturn(Optional.of(view));
+
+        assertThrows(BadRequestException.class,
+                () -> userProfileService.authorizationByFingerprint(clientId.toString(), "122112"));
+    }
+
+    @Test
+    void authorizationByFingerprint_NoFingerprintSaved_ThrowsBadRequestException() {
+        UUID clientId = UUID.randomUUID();
+
+        when(userProfileRepository.findFingerprintViewByClientId(clientId))
+                .thenReturn(Optional.of(new FingerprintView(null, null)));
+
+        assertThrows(BadRequestException.class,
+                () -> userProfileService.authorizationByFingerprint(clientId.toString(), "122112"));
+    }
 
-        assertEquals(expectedResponse.getClientId(), result.getClientId());
-        verify(clientRepository, times(1)).findById(UUID.fromString(requestId));
-        verify(userProfileRepository, times(1)).findUserProfileByClient(client);
+    @Test
+    void authorizationByFingerprint_MalformedClientId_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> userProfileService.authorizationByFingerprint("not-a-uuid", "122112"));
+        verifyNoInteractions(userProfileRepository);
     }
 
     @Test
-    void authorizationByFingerprint_ClientNotFound_ThrowsInternalServerException() {
+    void authorizationByFingerprint_LegacyFingerprintMatches_ReplacedWithHash() {
         String fingerprint = "122112";
         UUID clientId = UUID.randomUUID();
-        Client client = new Client();
-        client.setId(clientId);
-        UserProfile userProfile = new UserProfile();
-        userProfile.setClient(client);
-        userProfile.setFingerprint(fingerprint);
 
-        when(clientRepository.findById(UUID.fromString(client.getId().toString()))).thenReturn(Optional.empty());
+        when(userProfileRepository.findFingerprintViewByClientId(clientId))
+                .thenReturn(Optional.of(new FingerprintView(null, fingerprint)));
+
+        AuthResponseDto result = userProfileService.authorizationByFingerprint(clientId.toString(), fingerprint);
+
+        assertEquals(clientId, result.getClientId());
+        verify(userProfileRepository).updateFingerprintHashByClientId(clientId, fingerprint,
+                fingerprintHasher.hash(clientId, fingerprint));
+    }
+
+    @Test
+    void authorizationByFingerprint_RepeatedRejection_AnsweredWithoutQuery() {
+        UUID clientId = UUID.randomUUID();
+        UUID unknownClientId = UUID.randomUUID();
+        FingerprintView view = new FingerprintView(fingerprintHasher.hash(clientId, "222222"), null);
 
-        assertThrows(BadRequestException.class, () -> userProfileService.authorizationByFingerprint(client.getId().toString(), fingerprint));
-        verify(clientRepository, times(1)).findById(UUID.fromString(client.getId().toString()));
-        verify(userProfileRepository, never()).findUserProfileByClient(any());
+        when(userProfileRepository.findFingerprintViewByClientId(clientId)).thenReturn(Optional.of(view));
+        when(userProfileRepository.findFingerprintViewByClientId(unknownClientId)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(BadRequestException.class,
+                    () -> userProfileService.authorizationByFingerprint(clientId.toString(), "122112"));
+            assertThrows(BadRequestException.class,
+                    () -> userProfileService.authorizationByFingerprint(unknownClientId.toString(), "122112"));
+        }
+
+        verify(userProfileRepository, times(1)).findFingerprintViewByClientId(clientId);
+        verify(userProfileRepository, times(1)).findFingerprintViewByClientId(unknownClientId);
     }
 
     @Test
-    void authorizationByFingerprint_InvalidFingerprint_ThrowsInternalServerException() {
+    void authorizationByFingerprint_RejectedThenSaved_Authorized() {
         String fingerprint = "122112";
         UUID clientId = UUID.randomUUID();
         Client client = new Client();
         client.setId(clientId);
         UserProfile userProfile = new UserProfile();
-        userProfile.setFingerprint("222222");
-        userProfile.setClient(client);
 
-        when(clientRepository.findById(UUID.fromString(clientId.toString()))).thenReturn(Optional.of(client));
-        when(userProfileRepository.findUserProfileByClient(client)).thenReturn(Optional.of(userProfile));
+        when(userProfileRepository.findFingerprintViewByClientId(clientId)).thenReturn(Optional.empty());
+        assertThrows(BadRequestException.class,
+                () -> userProfileService.authorizationByFingerprint(clientId.toString(), fingerprint));
+
+        when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
+        when(userProfileRepository.findByClientId(clientId)).thenReturn(Optional.of(userProfile));
+        userProfileService.saveFingerprint(clientId, fingerprint);
+        when(userProfileRepository.findFingerprintViewByClientId(clientId))
+                .thenReturn(Optional.of(new FingerprintView(userProfile.getFingerprintHash(), null)));
 
-        assertThrows(BadRequestException.class, () -> userProfileService.authorizationByFingerprint(clientId.toString(), fingerprint));
+        assertEquals(clientId, userProfileService.authorizationByFingerprint(clientId.toString(), fingerprint)
+                .getClientId());
     }
-}
\ No newline at end of file
+}
@@ -1,42 +1,62 @@
 package com.example.userservice.app.service;
 
+import com.example.userservice.app.service.codedelivery.CodeDispatcher;
+import com.example.userservice.app.service.codegeneration.VerificationCodeGenerator;
 import com.example.userservice.app.service.impl.VerificationServiceImpl;
 import com.example.userservice.persistence.model.Client;
 import com.example.userservice.persistence.model.Contact;
-import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.projection.VerificationAttempt;
 import com.example.userservice.persistence.repository.ContactRepository;
 import com.example.userservice.persistence.repository.VerificationRepository;
 import com.example.userservice.web.controller.exception.BadRequestException;
 import com.example.userservice.web.controller.exception.ForbiddenException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.controller.exception.ViolationBlockingPeriodException;
+import com.example.userservice.web.dto.responses.AuthResponseDto;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
 class VerificationServiceTest {
 
+    private static final String CODE = "140978";
+
     @Mock
     private VerificationRepository verificationRepository;
 
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private CodeDispatcher codeDispatcher;
+
+    @Mock
+    private VerificationCodeGenerator verificationCodeGenerator;
+
     @InjectMocks
     private VerificationServiceImpl verificationService;
 
+    @BeforeEach
+    void setUp() {
+        when(verificationCodeGenerator.length()).thenReturn(CODE.length());
+    }
+
     @Test
     void generateCodeByMobilePhoneWithoutBlockExpiration() {
         String mobilePhone = "79345612385";
@@ -50,18 +70,13 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findContactByMobilePhone(mobilePhone))
                 .thenReturn(contactOptional);
 
-        Verification verification = new Verification();
-        verification.setBlockExpiration(null);
-        Optional<Verification> verificationOptional = Optional.of(verification);
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
-
-        Mockito.when(verificationRepository.save(any(Verification.class)))
-                .thenReturn(verification);
+        Mockito.when(verificationCodeGenerator.next()).thenReturn("042917");
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.empty());
 
         verificationService.generateCodeByMobilePhone(mobilePhone);
-        Mockito.verify(verificationRepository).save(any(Verification.class));
+        Mockito.verify(verificationRepository).saveCode(Mockito.eq(mobilePhone), Mockito.eq("042917"), any());
+        Mockito.verify(codeDispatcher).dispatch(mobilePhone, "042917");
     }
 
     @Test
@@ -77,15 +92,12 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findContactByMobilePhone(mobilePhone))
                 .thenReturn(contactOptional);
 
-        Verification verification = new Verification();
-        verification.setBlockExpiration(LocalDateTime.MAX);
-        Optional<Verification> verificationOptional = Optional.of(verification);
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.of(Duration.ofMinutes(5)));
 
         assertThrows(ViolationBlockingPeriodException.class, () ->
                 verificationService.generateCodeByMobilePhone(mobilePhone));
+        Mockito.verifyNoInteractions(codeDispatcher);
     }
 
     @Test
@@ -101,13 +113,11 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findContactByMobilePhone(mobilePhone))
                 .thenReturn(contactOptional);
 
-        Optional<Verification> verificationOptional = Optional.ofNullable(new Verification());
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.empty());
 
         verificationService.generateCodeByMobilePhone(mobilePhone);
-        Mockito.verify(verificationRepository).save(any(Verification.class));
+        Mockito.verify(verificationRepository).saveCode(Mockito.eq(mobilePhone), any(), any());
     }
 
     @Test
@@ -124,18 +134,11 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(passportNumber))
                 .thenReturn(contactOptional);
 
-        Verification verification = new Verification();
-        verification.setBlockExpiration(null);
-        Optional<Verification> verificationOptional = Optional.of(verification);
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
-
-        Mockito.when(verificationRepository.save(any(Verification.class)))
-                .thenReturn(verification);
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.empty());
 
         verificationService.generateCodeByPassportNumber(passportNumber);
-        Mockito.verify(verificationRepository).save(any(Verification.class));
+        Mockito.verify(verificationRepository).saveCode(Mockito.eq(mobilePhone), any(), any());
     }
 
     @Test
@@ -152,12 +155,8 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(passportNumber))
                 .thenReturn(contactOptional);
 
-        Verification verification = new Verification();
-        verification.setBlockExpiration(LocalDateTime.MAX);
-        Optional<Verification> verificationOptional = Optional.of(verification);
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.of(Duration.ofMinutes(5)));
 
         assertThrows(ViolationBlockingPeriodException.class, () ->
                 verificationService.generateCodeByPassportNumber(passportNumber));
@@ -177,115 +176,98 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(passportNumber))
                 .thenReturn(contactOptional);
 
-        Verification verification = new Verification();
-        verification.setBlockExpiration(LocalDateTime.MIN);
-        Optional<Verification> verificationOptional = Optional.of(verification);
-
-        Mockito.when(verificationRepository.findById(contact.getMobilePhone()))
-                .thenReturn(verificationOptional);
-
-        Mockito.when(verificationRepository.save(any(Verification.class)))
-                .thenReturn(verification);
+        Mockito.when(verificationRepository.saveCode(Mockito.eq(mobilePhone), any(), any()))
+                .thenReturn(Optional.empty());
 
         verificationService.generateCodeByPassportNumber(passportNumber);
-        Mockito.verify(verificationRepository).save(any(Verification.class));
+        Mockito.verify(verificationRepository).saveCode(Mockito.eq(mobilePhone), any(), any());
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeTest() {
-        String mobilePhone = "79345612385";
-
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                0,
-                LocalDateTime.now()
-        );
-
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithThreeAttemptsTest() {
-        String mobilePhone = "79345612385";
-
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                2,
-                LocalDateTime.now());
-
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithTwoAttemptsTest() {
-        String mobilePhone = "79345612385";
-
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                1,
-                LocalDateTime.now());
-
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithNonExistentVerificationCodeTest() {
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithNotExpiredBlockingPeriodTest() {
-        String mobilePhone = "79345612385";
-
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                LocalDateTime.now().plusMinutes(5),
-                2,
-                LocalDateTime.now());
-
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.BLOCKED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithNotExpiredCode() {
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
     void verifyByMobilePhoneAndVerificationCodeWithNonExistentPhoneNumberTest() {
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCode("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCode("", CODE));
     }
 
     @Test
-    void verifyByMobilePhoneAndVerificationCodeWithAuthTest() {
+    void verifyByMobilePhoneAndVerificationCodeWithNonExistentVerificationCodeIssuesNewCodeTest() {
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
+        when(verificationRepository.saveCode(any(), any(), any())).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(UnprocessableEntityException.class, () ->
+                verificationService.verifyByMobilePhoneAndVerificationCode("79345612385", CODE));
+        Mockito.verify(verificationRepository).saveCode(eq("79345612385"), any(), any());
+    }
+
+    @Test
+    void verifyByMobilePhoneAndVerificationCodeWithWrongLengthCodeTest() {
+        Assertions.assertThrows(BadRequestException.class, () ->
+                verificationService.verifyByMobilePhoneAndVerificationCode("79345612385", "1409"));
+        Mockito.verify(verificationRepository, Mockito.never()).attempt(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void verifyByMobilePhoneAndVerificationCodeWithMatchingCodeTest() {
+        stubAttempt(VerificationAttempt.Status.MATCHED, null);
+
+        Assertions.assertDoesNotThrow(() ->
+                verificationService.verifyByMobilePhoneAndVerificationCode("79345612385", "140978"));
+        Mockito.verify(verificationRepository).attempt(eq("79345612385"), eq("140978"), anyInt(), any());
+    }
+
+    @Test
+    void verifyByMobilePhoneAndVerificationCodeWithAuthMatchingCodeTest() {
         String mobilePhone = "79345612385";
 
         Contact contact = new Contact();
@@ -294,20 +276,30 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                0,
-                LocalDateTime.now()
-        );
+        Mockito.when(contactRepository.findContactByMobilePhone(mobilePhone)).thenReturn(Optional.of(contact));
+        stubAttempt(VerificationAttempt.Status.MATCHED, null);
+
+        AuthResponseDto authResponseDto =
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth(mobilePhone, "140978");
+
+        Assertions.assertEquals(client.getId(), authResponseDto.getClientId());
+    }
+
+    @Test
+    void verifyByMobilePhoneAndVerificationCodeWithAuthTest() {
+        String mobilePhone = "79345612385";
+
+        Contact contact = new Contact();
+        Client client = new Client();
+        client.setId(UUID.fromString("178331c2-9a6e-11ee-b9d1-0242ac120002"));
+        contact.setClient(client);
+        contact.setMobilePhone(mobilePhone);
 
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
-
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -320,19 +312,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                2,
-                LocalDateTime.now()
-        );
-
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -345,19 +329,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                1,
-                LocalDateTime.now()
-        );
-
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -370,12 +346,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -388,19 +363,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                2,
-                LocalDateTime.now()
-        );
-
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.BLOCKED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -414,10 +381,10 @@ class VerificationServiceTest {
         contact.setMobilePhone(mobilePhone);
 
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.of(contact));
-        Mockito.when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -425,7 +392,8 @@ class VerificationServiceTest {
         Mockito.when(contactRepository.findContactByMobilePhone(Mockito.anyString())).thenReturn(Optional.empty());
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByMobilePhoneAndVerificationCodeWithAuth("", CODE));
+        Mockito.verifyNoInteractions(verificationRepository);
     }
 
     @Test
@@ -438,19 +406,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                0,
-                LocalDateTime.now()
-        );
-
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.any())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -463,19 +423,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                2,
-                LocalDateTime.now()
-        );
-
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.any())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -488,19 +440,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                1,
-                LocalDateTime.now()
-        );
-
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.any())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        stubAttempt(VerificationAttempt.Status.WRONG_CODE, null);
 
         Assertions.assertThrows(BadRequestException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -513,11 +457,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.anyString())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.any())).thenReturn(Optional.of(contact));
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -530,19 +474,11 @@ class VerificationServiceTest {
         contact.setClient(client);
         contact.setMobilePhone(mobilePhone);
 
-        Verification verification = new Verification(
-                mobilePhone,
-                "140978",
-                null,
-                2,
-                LocalDateTime.now()
-        );
-
-        when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.anyString())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.anyString())).thenReturn(Optional.of(verification));
+        when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.any())).thenReturn(Optional.of(contact));
+        stubAttempt(VerificationAttempt.Status.BLOCKED, LocalDateTime.now().plusMinutes(5));
 
         Assertions.assertThrows(ForbiddenException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -556,10 +492,10 @@ class VerificationServiceTest {
         contact.setMobilePhone(mobilePhone);
 
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.anyString())).thenReturn(Optional.of(contact));
-        when(verificationRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        stubAttempt(VerificationAttempt.Status.NOT_FOUND, null);
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -569,7 +505,7 @@ class VerificationServiceTest {
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.anyString())).thenReturn(Optional.of(contact));
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
     }
 
     @Test
@@ -578,6 +514,11 @@ class VerificationServiceTest {
         when(contactRepository.findByClient_PassportData_IdentificationPassportNumber(Mockito.anyString())).thenReturn(Optional.empty());
 
         Assertions.assertThrows(UnprocessableEntityException.class, () ->
-                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", ""));
+                verificationService.verifyByPassportNumberAndVerificationCodeWithAuth("", CODE));
+    }
+
+    private void stubAttempt(VerificationAttempt.Status status, LocalDateTime blockExpiration) {
+        when(verificationRepository.attempt(any(), any(), anyInt(), any()))
+                .thenReturn(new VerificationAttempt(status, blockExpiration));
     }
-}
\ No newline at end of file
+}
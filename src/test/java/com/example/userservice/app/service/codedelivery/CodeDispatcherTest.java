@@ -0,0 +1,164 @@
+package com.example.userservice.app.service.codedelivery;
+
+import com.example.userservice.web.controller.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Первая отправка держит единственный поток доставки, пока тест не откроет gate,
+ * поэтому следующие коды гарантированно копятся в очереди.
+ */
+class CodeDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GatedSender sender = new GatedSender();
+
+    private CodeDispatcher codeDispatcher;
+
+    @AfterEach
+    void tearDown() {
+        sender.gate.countDown();
+        codeDispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_whenCodeForSamePhoneIsPending_thenOnlyLatestCodeSent() throws InterruptedException {
+        codeDispatcher = dispatcher(100, 10);
+        holdWorker();
+
+        codeDispatcher.dispatch("79000000001", "111111");
+        codeDispatcher.dispatch("79000000001", "222222");
+        codeDispatcher.dispatch("79000000002", "333333");
+        sender.gate.countDown();
+
+        List<CodeMessage> batch = sender.nextBatch();
+        assertEquals(List.of(new CodeMessage("79000000001", "222222"), new CodeMessage("79000000002", "333333")),
+                batch);
+        assertEquals(1, meterRegistry.counter("verification.code.coalesced").count());
+    }
+
+    @Test
+    void dispatch_whenManyCodesQueued_thenSentInBatchesOfBatchSize() throws InterruptedException {
+        codeDispatcher = dispatcher(3, 10);
+        holdWorker();
+
+        for (int i = 0; i < 7; i++) {
+            codeDispatcher.dispatch("7900000001" + i, "12345" + i);
+        }
+        sender.gate.countDown();
+
+        assertEquals(3, sender.nextBatch().size());
+        assertEquals(3, sender.nextBatch().size());
+        assertEquals(1, sender.nextBatch().size());
+    }
+
+    @Test
+    void dispatch_whenQueueFull_thenServiceUnavailable() throws InterruptedException {
+        codeDispatcher = dispatcher(100, 2);
+        holdWorker();
+
+        codeDispatcher.dispatch("79000000001", "111111");
+        codeDispatcher.dispatch("79000000002", "222222");
+
+        assertThrows(ServiceUnavailableException.class, () -> codeDispatcher.dispatch("79000000003", "333333"));
+        assertEquals(1, meterRegistry.counter("verification.code.rejected").count());
+
+        sender.gate.countDown();
+        assertEquals(2, sender.nextBatch().size());
+        codeDispatcher.dispatch("79000000003", "333333");
+        assertEquals(List.of(new CodeMessage("79000000003", "333333")), sender.nextBatch());
+    }
+
+    @Test
+    void dispatch_whenSenderFails_thenFailureRecordedAndNextCodesDelivered() throws InterruptedException {
+        codeDispatcher = dispatcher(100, 10);
+        sender.failNext = true;
+        sender.gate.countDown();
+
+        codeDispatcher.dispatch("79000000001", "111111");
+        sender.nextBatch();
+        codeDispatcher.dispatch("79000000002", "222222");
+
+        assertEquals(List.of(new CodeMessage("79000000002", "222222")), sender.nextBatch());
+        assertEquals(1, meterRegistry.timer("verification.code.delivery", "result", "failed").count());
+        assertTrue(waitForSent(1));
+    }
+
+    @Test
+    void shutdown_whenCodesQueued_thenDeliveredBeforeStop() throws InterruptedException {
+        codeDispatcher = dispatcher(100, 10);
+        holdWorker();
+        codeDispatcher.dispatch("79000000001", "111111");
+        sender.gate.countDown();
+
+        codeDispatcher.shutdown();
+
+        assertEquals(List.of(new CodeMessage("79000000001", "111111")), sender.nextBatch());
+        assertThrows(ServiceUnavailableException.class, () -> codeDispatcher.dispatch("79000000002", "222222"));
+    }
+
+    private CodeDispatcher dispatcher(int batchSize, int capacity) {
+        return new CodeDispatcher(sender, meterRegistry, batchSize, 0, capacity, 1, 5000);
+    }
+
+    /**
+     * Занимает поток доставки первым кодом, который будет отправлен после открытия gate
+     */
+    private void holdWorker() throws InterruptedException {
+        codeDispatcher.dispatch("79000000000", "000000");
+        assertNotNull(sender.batches.poll(5, TimeUnit.SECONDS));
+    }
+
+    private boolean waitForSent(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (meterRegistry.timer("verification.code.delivery", "result", "sent").count() == expected) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static final class GatedSender implements CodeSender {
+
+        private final BlockingQueue<List<CodeMessage>> batches = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private volatile boolean failNext;
+
+        @Override
+        public void send(List<CodeMessage> messages) {
+            batches.add(messages);
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("gateway is down");
+            }
+        }
+
+        List<CodeMessage> nextBatch() throws InterruptedException {
+            List<CodeMessage> batch = batches.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch, "no batch was sent");
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.userservice.app.service.codegeneration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerificationCodeGeneratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VerificationCodeGenerator generator;
+
+    @AfterEach
+    void tearDown() {
+        if (generator != null) {
+            generator.shutdown();
+        }
+    }
+
+    @Test
+    void next_thenCodeHasConfiguredLengthAndOnlyDigits() {
+        generator = new VerificationCodeGenerator(meterRegistry, 8, 64);
+
+        assertEquals(8, generator.length());
+        for (int i = 0; i < 1000; i++) {
+            String code = generator.next();
+            assertEquals(8, code.length(), code);
+            assertTrue(code.chars().allMatch(Character::isDigit), code);
+        }
+    }
+
+    @Test
+    void next_whenShortCode_thenLeadingZerosKeptAndAllDigitsUsed() {
+        generator = new VerificationCodeGenerator(meterRegistry, 1, 16);
+        Set<String> codes = new HashSet<>();
+
+        for (int i = 0; i < 2000; i++) {
+            codes.add(generator.next());
+        }
+
+        assertEquals(10, codes.size());
+        assertTrue(codes.contains("0"));
+    }
+
+    @Test
+    void next_whenBufferDrained_thenCodesStillGeneratedAndBufferRefilled() throws InterruptedException {
+        generator = new VerificationCodeGenerator(meterRegistry, 6, 8);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(6, generator.next().length());
+        }
+
+        assertTrue(meterRegistry.counter("verification.code.buffer.empty").count() > 0);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (generator.available() < 8 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(8, generator.available());
+    }
+
+    @Test
+    void next_whenCalledConcurrently_thenEveryBufferedCodeHandedOutOnce() throws Exception {
+        generator = new VerificationCodeGenerator(meterRegistry, 18, 256);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 16; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    codes.add(generator.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(16 * 5000, codes.size());
+    }
+
+    @Test
+    void constructor_whenLengthTooLong_thenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new VerificationCodeGenerator(meterRegistry, 19, 16));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.userservice.app.service.completeregistration;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.Approval;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegistrationHandoffExecutorTest {
+
+    private final RegistrationHandoffExecutor executor = new RegistrationHandoffExecutor("platform", 4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void forEachOrdered_thenMessagesOfOneClientKeepOrder() {
+        List<UUID> clientIds = IntStream.range(0, 8).mapToObj(i -> UUID.randomUUID()).toList();
+        List<ApprovedRegisterUserDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            for (UUID clientId : clientIds) {
+                dtos.add(new ApprovedRegisterUserDto(clientId, i % 2 == 0 ? Approval.ALLOWED : Approval.BLOCKED,
+                        ClientFlow.NEW));
+            }
+        }
+        List<ApprovedRegisterUserDto> processed = Collections.synchronizedList(new ArrayList<>());
+
+        executor.forEachOrdered(dtos, processed::add);
+
+        assertEquals(dtos.size(), processed.size());
+        for (UUID clientId : clientIds) {
+            assertEquals(dtos.stream().filter(dto -> dto.getClientId().equals(clientId)).toList(),
+                    processed.stream().filter(dto -> dto.getClientId().equals(clientId)).toList());
+        }
+    }
+
+    @Test
+    void mapAll_thenResultsInClientIdsOrder() {
+        List<UUID> clientIds = IntStream.range(0, 20).mapToObj(i -> UUID.randomUUID()).toList();
+
+        Map<UUID, String> results = executor.mapAll(clientIds, UUID::toString);
+
+        assertEquals(clientIds, List.copyOf(results.keySet()));
+        results.forEach((clientId, result) -> assertEquals(clientId.toString(), result));
+    }
+
+    @Test
+    void mapAll_whenTaskFails_thenExceptionRethrown() {
+        List<UUID> clientIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        assertThrows(IllegalStateException.class, () -> executor.mapAll(clientIds, clientId -> {
+            throw new IllegalStateException("feign");
+        }));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.userservice.app.service.completeregistration;
+
+import com.example.userservice.app.kafka.dto.ApprovedRegisterUserDto;
+import com.example.userservice.app.kafka.dto.enums.Approval;
+import com.example.userservice.app.kafka.dto.enums.ClientFlow;
+import com.example.userservice.app.service.completeregistration.newclient.CompleteNewApprovedClientRegistrationService;
+import com.example.userservice.app.service.completeregistration.oldclient.CompleteOldApprovedClientRegistrationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CompleteNewApprovedClientRegistrationService newAllowedService;
+    private CompleteNewApprovedClientRegistrationService newBlockedService;
+    private CompleteOldApprovedClientRegistrationService oldAllowedService;
+    private CompleteOldApprovedClientRegistrationService oldBlockedService;
+
+    @BeforeEach
+    void setUp() {
+        newAllowedService = newService(Approval.ALLOWED);
+        newBlockedService = newService(Approval.BLOCKED);
+        oldAllowedService = oldService(Approval.ALLOWED);
+        oldBlockedService = oldService(Approval.BLOCKED);
+    }
+
+    @Test
+    void complete_thenDispatchedByClientFlowAndApproval() {
+        RegistrationPipeline pipeline = pipeline();
+        UUID clientId = UUID.randomUUID();
+
+        pipeline.complete(new ApprovedRegisterUserDto(clientId, Approval.BLOCKED, ClientFlow.OLD));
+
+        verify(oldBlockedService).completeOldApprovedClientRegistration(clientId);
+        verify(oldAllowedService, never()).completeOldApprovedClientRegistration(any());
+        verify(newBlockedService, never()).completeNewApprovedClientRegistration(any());
+        assertEquals(1, meterRegistry.get("registration.completion.duration")
+                .tags("flow", "OLD", "approval", "BLOCKED", "mode", "single").timer().count());
+    }
+
+    @Test
+    void completeAll_thenOneCallPerApproval() {
+        RegistrationPipeline pipeline = pipeline();
+        ApprovedRegisterUserDto first = new ApprovedRegisterUserDto(UUID.randomUUID(), Approval.ALLOWED, ClientFlow.NEW);
+        ApprovedRegisterUserDto second = new ApprovedRegisterUserDto(UUID.randomUUID(), Approval.ALLOWED, ClientFlow.NEW);
+        ApprovedRegisterUserDto blocked = new ApprovedRegisterUserDto(UUID.randomUUID(), Approval.BLOCKED, ClientFlow.NEW);
+
+        pipeline.completeAll(List.of(first, blocked, second));
+
+        verify(newAllowedService).completeNewApprovedClientRegistrations(
+                List.of(first.getClientId(), second.getClientId()));
+        verify(newBlockedService).completeNewApprovedClientRegistrations(List.of(blocked.getClientId()));
+        assertEquals(1, meterRegistry.get("registration.completion.duration")
+                .tags("flow", "NEW", "approval", "ALLOWED", "mode", "batch").timer().count());
+    }
+
+    @Test
+    void complete_whenApprovalMissing_thenIllegalArgument() {
+        RegistrationPipeline pipeline = pipeline();
+        ApprovedRegisterUserDto dto = new ApprovedRegisterUserDto(UUID.randomUUID(), null, ClientFlow.NEW);
+
+        assertFalse(pipeline.supports(dto));
+        assertTrue(pipeline.supports(new ApprovedRegisterUserDto(UUID.randomUUID(), Approval.ALLOWED, ClientFlow.NEW)));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.complete(dto));
+    }
+
+    @Test
+    void constructor_whenHandlerMissing_thenFailsAtStartup() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new RegistrationPipeline(
+                Set.of(newAllowedService, newBlockedService), Set.of(oldAllowedService), meterRegistry));
+
+        assertTrue(exception.getMessage().contains("OLD/BLOCKED"));
+    }
+
+    @Test
+    void constructor_whenHandlerDuplicated_thenFailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new RegistrationPipeline(
+                Set.of(newAllowedService, newBlockedService, newService(Approval.ALLOWED)),
+                Set.of(oldAllowedService, oldBlockedService), meterRegistry));
+    }
+
+    private RegistrationPipeline pipeline() {
+        return new RegistrationPipeline(Set.of(newAllowedService, newBlockedService),
+                Set.of(oldAllowedService, oldBlockedService), meterRegistry);
+    }
+
+    private static CompleteNewApprovedClientRegistrationService newService(Approval approval) {
+        CompleteNewApprovedClientRegistrationService service = mock(CompleteNewApprovedClientRegistrationService.class);
+        when(service.getType()).thenReturn(approval);
+        return service;
+    }
+
+    private static CompleteOldApprovedClientRegistrationService oldService(Approval approval) {
+        CompleteOldApprovedClientRegistrationService service = mock(CompleteOldApprovedClientRegistrationService.class);
+        when(service.getType()).thenReturn(approval);
+        return service;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.userservice.app.service.fingerprint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintHasherTest {
+
+    private final FingerprintHasher hasher = new FingerprintHasher("test-fingerprint-hash-key");
+
+    @Test
+    void hash_thenStableHexOfSha256Length() {
+        UUID clientId = UUID.randomUUID();
+
+        String hash = hasher.hash(clientId, "122112");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, hasher.hash(clientId, "122112"));
+    }
+
+    @Test
+    void hash_whenSameFingerprintOfOtherClientOrOtherKey_thenDifferentHash() {
+        UUID clientId = UUID.randomUUID();
+        String hash = hasher.hash(clientId, "122112");
+
+        assertNotEquals(hash, hasher.hash(UUID.randomUUID(), "122112"));
+        assertNotEquals(hash, new FingerprintHasher("other-key").hash(clientId, "122112"));
+    }
+
+    @Test
+    void matches_thenTrueOnlyForSameHash() {
+        UUID clientId = UUID.randomUUID();
+        String hash = hasher.hash(clientId, "122112");
+
+        assertTrue(hasher.matches(hash, hash.toUpperCase()));
+        assertFalse(hasher.matches(hash, hasher.hash(clientId, "122113")));
+        assertFalse(hasher.matches(hash, null));
+        assertFalse(hasher.matches(hash, "not hex"));
+    }
+
+    @Test
+    void constructor_whenKeyBlank_thenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintHasher(" "));
+    }
+}
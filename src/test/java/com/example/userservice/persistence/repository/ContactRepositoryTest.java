@@ -0,0 +1,119 @@
+package com.example.userservice.persistence.repository;
+
+import com.example.userservice.persistence.model.Contact;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conditional UPDATE statements of the {@code ContactRepository} against the seeded H2 database,
+ * the test transaction is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class ContactRepositoryTest {
+
+    /** Клиент с контактом и email */
+    private static final UUID CLIENT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createQuery("UPDATE Contact c SET c.smsNotificationEnable = true, " +
+                        "c.pushNotificationEnable = false, c.emailNotificationEnable = false " +
+                        "WHERE c.client.id = :clientId")
+                .setParameter("clientId", CLIENT_ID)
+                .executeUpdate();
+    }
+
+    @Test
+    void updateNotificationsByClientId_whenFlagIsNull_thenItStaysUnchanged() {
+        assertEquals(1, contactRepository.updateNotificationsByClientId(CLIENT_ID, null, true, null));
+
+        Contact contact = reload();
+        assertTrue(contact.getSmsNotificationEnable());
+        assertTrue(contact.getPushNotificationEnable());
+        assertFalse(contact.getEmailNotificationEnable());
+    }
+
+    @Test
+    void updateNotificationsByClientId_whenAllFlagsPassed_thenAllChanged() {
+        assertEquals(1, contactRepository.updateNotificationsByClientId(CLIENT_ID, false, true, true));
+
+        Contact contact = reload();
+        assertFalse(contact.getSmsNotificationEnable());
+        assertTrue(contact.getPushNotificationEnable());
+        assertTrue(contact.getEmailNotificationEnable());
+    }
+
+    @Test
+    void updateNotificationsByClientId_whenEmailSubscriptionEnabledWithoutEmail_thenNothingUpdated() {
+        removeEmail();
+
+        assertEquals(0, contactRepository.updateNotificationsByClientId(CLIENT_ID, false, null, true));
+
+        Contact contact = reload();
+        assertTrue(contact.getSmsNotificationEnable());
+        assertFalse(contact.getEmailNotificationEnable());
+    }
+
+    @Test
+    void updateNotificationsByClientId_whenEmailSubscriptionDisabledWithoutEmail_thenUpdated() {
+        removeEmail();
+
+        assertEquals(1, contactRepository.updateNotificationsByClientId(CLIENT_ID, false, null, false));
+
+        Contact contact = reload();
+        assertFalse(contact.getSmsNotificationEnable());
+        assertFalse(contact.getEmailNotificationEnable());
+    }
+
+    @Test
+    void updateNotificationsByClientId_whenClientNotFound_thenNothingUpdated() {
+        assertEquals(0, contactRepository.updateNotificationsByClientId(UUID.randomUUID(), true, true, null));
+    }
+
+    @Test
+    void updateEmailNotificationByClientId_whenStatusDiffers_thenUpdated() {
+        assertEquals(1, contactRepository.updateEmailNotificationByClientId(CLIENT_ID, true));
+
+        assertTrue(reload().getEmailNotificationEnable());
+    }
+
+    @Test
+    void updateEmailNotificationByClientId_whenStatusSame_thenNothingUpdated() {
+        assertEquals(0, contactRepository.updateEmailNotificationByClientId(CLIENT_ID, false));
+    }
+
+    @Test
+    void updateEmailNotificationByClientId_whenContactWithoutEmail_thenNothingUpdated() {
+        removeEmail();
+
+        assertEquals(0, contactRepository.updateEmailNotificationByClientId(CLIENT_ID, true));
+    }
+
+    private void removeEmail() {
+        entityManager.createQuery("UPDATE Contact c SET c.email = NULL WHERE c.client.id = :clientId")
+                .setParameter("clientId", CLIENT_ID)
+                .executeUpdate();
+    }
+
+    private Contact reload() {
+        entityManager.clear();
+        return contactRepository.findContactByClient_Id(CLIENT_ID).orElseThrow();
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.userservice.persistence.repository;
+
+import com.example.userservice.persistence.model.Verification;
+import com.example.userservice.persistence.projection.VerificationAttempt;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lua-скрипты и pipelines {@code RedisVerificationRepository} на настоящем Redis (встроенный redis-server).
+ */
+class RedisVerificationRepositoryTest {
+
+    private static final String PHONE = "79345612385";
+    private static final String CODE_KEY = "verification:{" + PHONE + "}:code";
+    private static final String BLOCK_KEY = "verification:{" + PHONE + "}:block";
+    private static final String CODE = "140978";
+    private static final String WRONG_CODE = "000000";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration BLOCKING_TIME = Duration.ofMinutes(10);
+    private static final Duration CODE_LIFETIME = Duration.ofMinutes(5);
+
+    /** Допуск на время между командой и проверкой TTL */
+    private static final Duration TTL_TOLERANCE = Duration.ofSeconds(5);
+
+    private static RedisServer redisServer;
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisVerificationRepository repository;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        redisServer = RedisServer.newRedisServer()
+                .bind("127.0.0.1")
+                .port(port)
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        repository = new RedisVerificationRepository(redisTemplate);
+    }
+
+    @Test
+    void attempt_whenBlocked_thenBlockedWithRemainingTimeAndCodeNotChecked() {
+        storeCode(CODE, 0);
+        redisTemplate.opsForValue().set(BLOCK_KEY, "1", Duration.ofMinutes(1));
+
+        VerificationAttempt attempt = repository.attempt(PHONE, CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.BLOCKED, attempt.status());
+        assertExpiresIn(Duration.ofMinutes(1), attempt.blockExpiration());
+        assertEquals(Map.of("code", CODE, "attempts", "0"), redisTemplate.<String, String>opsForHash().entries(CODE_KEY));
+    }
+
+    @Test
+    void attempt_whenNoCode_thenNotFoundAndNothingStored() {
+        VerificationAttempt attempt = repository.attempt(PHONE, CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.NOT_FOUND, attempt.status());
+        assertNull(attempt.blockExpiration());
+        assertFalse(redisTemplate.hasKey(CODE_KEY));
+        assertFalse(redisTemplate.hasKey(BLOCK_KEY));
+    }
+
+    @Test
+    void attempt_whenWrongCode_thenAttemptCountedAndCodeKept() {
+        storeCode(CODE, 0);
+
+        VerificationAttempt attempt = repository.attempt(PHONE, WRONG_CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.WRONG_CODE, attempt.status());
+        assertNull(attempt.blockExpiration());
+        assertEquals("1", redisTemplate.opsForHash().get(CODE_KEY, "attempts"));
+        assertEquals(CODE, redisTemplate.opsForHash().get(CODE_KEY, "code"));
+        assertFalse(redisTemplate.hasKey(BLOCK_KEY));
+    }
+
+    @Test
+    void attempt_whenCodeMatches_thenCodeDeleted() {
+        storeCode(CODE, 1);
+
+        VerificationAttempt attempt = repository.attempt(PHONE, CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.MATCHED, attempt.status());
+        assertNull(attempt.blockExpiration());
+        assertFalse(redisTemplate.hasKey(CODE_KEY));
+        assertFalse(redisTemplate.hasKey(BLOCK_KEY));
+    }
+
+    /**
+     * Совпавший код тоже считается попыткой: на последней попытке счётчик доходит до лимита,
+     * но совпадение проверяется раньше лимита, поэтому телефон не блокируется
+     */
+    @Test
+    void attempt_whenCodeMatchesOnLastAttempt_thenMatchedAndNotBlocked() {
+        storeCode(CODE, MAX_ATTEMPTS - 1);
+
+        VerificationAttempt attempt = repository.attempt(PHONE, CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.MATCHED, attempt.status());
+        assertFalse(redisTemplate.hasKey(CODE_KEY));
+        assertFalse(redisTemplate.hasKey(BLOCK_KEY));
+    }
+
+    @Test
+    void attempt_whenLastAttemptWrong_thenCodeDeletedAndPhoneBlockedForBlockingTime() {
+        storeCode(CODE, MAX_ATTEMPTS - 1);
+
+        VerificationAttempt attempt = repository.attempt(PHONE, WRONG_CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+
+        assertEquals(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED, attempt.status());
+        assertExpiresIn(BLOCKING_TIME, attempt.blockExpiration());
+        assertFalse(redisTemplate.hasKey(CODE_KEY));
+        assertTtl(BLOCKING_TIME, BLOCK_KEY);
+    }
+
+    @Test
+    void attempt_whenAttemptsRunOut_thenEveryWrongCodeCountedAndNextAttemptBlocked() {
+        storeCode(CODE, 0);
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            assertEquals(VerificationAttempt.Status.WRONG_CODE,
+                    repository.attempt(PHONE, WRONG_CODE, MAX_ATTEMPTS, BLOCKING_TIME).status());
+            assertEquals(String.valueOf(i), redisTemplate.opsForHash().get(CODE_KEY, "attempts"));
+        }
+        assertEquals(VerificationAttempt.Status.ATTEMPTS_EXHAUSTED,
+                repository.attempt(PHONE, WRONG_CODE, MAX_ATTEMPTS, BLOCKING_TIME).status());
+
+        VerificationAttempt attempt = repository.attempt(PHONE, CODE, MAX_ATTEMPTS, BLOCKING_TIME);
+        assertEquals(VerificationAttempt.Status.BLOCKED, attempt.status());
+        assertExpiresIn(BLOCKING_TIME, attempt.blockExpiration());
+    }
+
+    @Test
+    void saveCode_thenCodeStoredWithNoAttemptsForCodeLifetime() {
+        assertEquals(Optional.empty(), repository.saveCode(PHONE, CODE, CODE_LIFETIME));
+
+        assertEquals(Map.of("code", CODE, "attempts", "0"), redisTemplate.<String, String>opsForHash().entries(CODE_KEY));
+        assertTtl(CODE_LIFETIME, CODE_KEY);
+        assertFalse(redisTemplate.hasKey(BLOCK_KEY));
+    }
+
+    @Test
+    void saveCode_whenCodeResent_thenCodeReplacedAttemptsKeptAndLifetimeRenewed() {
+        storeCode(WRONG_CODE, MAX_ATTEMPTS - 1);
+        redisTemplate.expire(CODE_KEY, Duration.ofSeconds(10));
+
+        assertEquals(Optional.empty(), repository.saveCode(PHONE, CODE, CODE_LIFETIME));
+
+        assertEquals(CODE, redisTemplate.opsForHash().get(CODE_KEY, "code"));
+        assertEquals(String.valueOf(MAX_ATTEMPTS - 1), redisTemplate.opsForHash().get(CODE_KEY, "attempts"));
+        assertTtl(CODE_LIFETIME, CODE_KEY);
+    }
+
+    @Test
+    void saveCode_whenBlocked_thenRefusedWithRemainingTimeAndNothingStored() {
+        redisTemplate.opsForValue().set(BLOCK_KEY, "1", Duration.ofMinutes(1));
+
+        Optional<Duration> blocked = repository.saveCode(PHONE, CODE, CODE_LIFETIME);
+
+        assertTrue(blocked.isPresent());
+        assertTrue(blocked.get().compareTo(Duration.ofMinutes(1).minus(TTL_TOLERANCE)) > 0
+                && blocked.get().compareTo(Duration.ofMinutes(1)) <= 0, blocked.get().toString());
+        assertFalse(redisTemplate.hasKey(CODE_KEY));
+        assertTtl(Duration.ofMinutes(1), BLOCK_KEY);
+    }
+
+    @Test
+    void findAllById_whenCodeOrBlockOrBothOrNeither_thenEachDecodedAndMissingSkipped() {
+        String codeOnly = "79000000001";
+        String blockOnly = "79000000002";
+        String both = "79000000003";
+        String neither = "79000000004";
+        storeCode(codeOnly, CODE, 1);
+        block(blockOnly);
+        storeCode(both, WRONG_CODE, 2);
+        block(both);
+
+        List<Verification> verifications = repository.findAllById(List.of(codeOnly, blockOnly, neither, both));
+
+        assertEquals(List.of(codeOnly, blockOnly, both),
+                verifications.stream().map(Verification::getMobilePhone).toList());
+
+        Verification code = verifications.get(0);
+        assertEquals(CODE, code.getVerificationCode());
+        assertEquals(1, code.getVerificationAttempts());
+        assertExpiresIn(CODE_LIFETIME, code.getCodeLifetime());
+        assertNull(code.getBlockExpiration());
+
+        Verification block = verifications.get(1);
+        assertNull(block.getVerificationCode());
+        assertNull(block.getVerificationAttempts());
+        assertNull(block.getCodeLifetime());
+        assertExpiresIn(BLOCKING_TIME, block.getBlockExpiration());
+
+        Verification codeAndBlock = verifications.get(2);
+        assertEquals(WRONG_CODE, codeAndBlock.getVerificationCode());
+        assertEquals(2, codeAndBlock.getVerificationAttempts());
+        assertExpiresIn(CODE_LIFETIME, codeAndBlock.getCodeLifetime());
+        assertExpiresIn(BLOCKING_TIME, codeAndBlock.getBlockExpiration());
+    }
+
+    @Test
+    void findById_whenNeitherCodeNorBlock_thenEmpty() {
+        assertEquals(Optional.empty(), repository.findById(PHONE));
+    }
+
+    @Test
+    void findAll_whenMoreThanOneScanPage_thenEveryPhoneOnce() {
+        int phones = 2 * RedisVerificationRepository.SCAN_COUNT + 1;
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < phones; i++) {
+            expected.add(String.valueOf(79000000000L + i));
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            int i = 0;
+            for (String mobilePhone : expected) {
+                byte[] codeKey = ("verification:{" + mobilePhone + "}:code").getBytes();
+                connection.hashCommands().hSet(codeKey, "code".getBytes(), CODE.getBytes());
+                connection.hashCommands().hSet(codeKey, "attempts".getBytes(), "0".getBytes());
+                connection.keyCommands().pExpire(codeKey, CODE_LIFETIME.toMillis());
+                // У части телефонов оба ключа: SCAN вернёт телефон дважды
+                if (i++ % 3 == 0) {
+                    connection.stringCommands().pSetEx(("verification:{" + mobilePhone + "}:block").getBytes(),
+                            BLOCKING_TIME.toMillis(), "1".getBytes());
+                }
+            }
+            return null;
+        });
+
+        List<Verification> verifications = repository.findAll();
+
+        assertEquals(phones, verifications.size());
+        assertEquals(expected, verifications.stream().map(Verification::getMobilePhone).collect(Collectors.toSet()));
+        assertTrue(verifications.stream().allMatch(verification -> CODE.equals(verification.getVerificationCode())));
+    }
+
+    private static void storeCode(String mobilePhone, String code, int attempts) {
+        String codeKey = "verification:{" + mobilePhone + "}:code";
+        redisTemplate.opsForHash().putAll(codeKey, Map.of("code", code, "attempts", String.valueOf(attempts)));
+        redisTemplate.expire(codeKey, CODE_LIFETIME);
+    }
+
+    private static void block(String mobilePhone) {
+        redisTemplate.opsForValue().set("verification:{" + mobilePhone + "}:block", "1", BLOCKING_TIME);
+    }
+
+    private static void storeCode(String code, int attempts) {
+        storeCode(PHONE, code, attempts);
+    }
+
+    private static void assertTtl(Duration expected, String key) {
+        Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        assertTrue(ttl != null && ttl > expected.minus(TTL_TOLERANCE).toMillis() && ttl <= expected.toMillis(),
+                key + " TTL " + ttl);
+    }
+
+    private static void assertExpiresIn(Duration expected, LocalDateTime expiration) {
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(expiration != null
+                        && expiration.isAfter(now.plus(expected).minus(TTL_TOLERANCE))
+                        && !expiration.isAfter(now.plus(expected)),
+                "expiration " + expiration);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.userservice.persistence.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every column a derived query method of a JPA repository filters on must be the leading column of an index
+ * created by the changelog. Indexes the database adds implicitly for foreign keys are not counted,
+ * PostgreSQL does not create them. Methods with {@code @Query} are not checked.
+ */
+@SpringBootTest
+class RepositoryIndexCoverageTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void derivedQueryMethods_filterOnlyOnIndexedColumns() throws SQLException {
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> unindexed = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> domainType : repositories) {
+                if (!domainType.isAnnotationPresent(Entity.class)) {
+                    continue;
+                }
+                RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+                for (Method method : information.getQueryMethods()) {
+                    if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+                        continue;
+                    }
+                    for (Part part : new PartTree(method.getName(), domainType).getParts()) {
+                        TableColumn column = resolveColumn(domainType, part.getProperty());
+                        if (!leadingIndexColumns(metaData, column.table()).contains(column.column())) {
+                            unindexed.add(information.getRepositoryInterface().getSimpleName() + "."
+                                    + method.getName() + " -> " + column.table() + "." + column.column());
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(unindexed.isEmpty(), "Derived queries filter on unindexed columns: " + unindexed);
+    }
+
+    private static TableColumn resolveColumn(Class<?> domainType, PropertyPath path) {
+        Class<?> owner = domainType;
+        Field previous = null;
+        Class<?> previousOwner = null;
+        PropertyPath segment = path;
+        while (true) {
+            Field field = ReflectionUtils.findField(owner, segment.getSegment());
+            if (field == null) {
+                throw new IllegalStateException("Unknown property " + segment.getSegment() + " of " + owner);
+            }
+            if (segment.hasNext()) {
+                previous = field;
+                previousOwner = owner;
+                owner = field.getType();
+                segment = segment.next();
+                continue;
+            }
+            if (field.isAnnotationPresent(Id.class) && previous != null
+                    && previous.isAnnotationPresent(JoinColumn.class)) {
+                return new TableColumn(tableName(previousOwner), previous.getAnnotation(JoinColumn.class).name());
+            }
+            if (field.isAnnotationPresent(JoinColumn.class)) {
+                return new TableColumn(tableName(owner), field.getAnnotation(JoinColumn.class).name());
+            }
+            if (field.getType().isAnnotationPresent(Entity.class)) {
+                Class<?> target = field.getType();
+                return new TableColumn(tableName(target), columnName(idField(target)));
+            }
+            return new TableColumn(tableName(owner), columnName(field));
+        }
+    }
+
+    private static Set<String> leadingIndexColumns(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> foreignKeyNames = new HashSet<>();
+        try (ResultSet importedKeys = metaData.getImportedKeys(null, null, table.toUpperCase(Locale.ROOT))) {
+            while (importedKeys.next()) {
+                foreignKeyNames.add(importedKeys.getString("FK_NAME").toUpperCase(Locale.ROOT));
+            }
+        }
+        Set<String> columns = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, null, table.toUpperCase(Locale.ROOT), false, false)) {
+            while (indexes.next()) {
+                String indexName = indexes.getString("INDEX_NAME");
+                boolean foreignKeyIndex = indexName != null && foreignKeyNames.stream()
+                        .anyMatch(indexName.toUpperCase(Locale.ROOT)::startsWith);
+                if (indexes.getShort("ORDINAL_POSITION") == 1 && !foreignKeyIndex) {
+                    columns.add(indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String tableName(Class<?> entity) {
+        Table table = entity.getAnnotation(Table.class);
+        return table != null ? table.name() : snakeCase(entity.getSimpleName());
+    }
+
+    private static Field idField(Class<?> entity) {
+        for (Field field : entity.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Id.class)) {
+                return field;
+            }
+        }
+        throw new IllegalStateException("No @Id in " + entity);
+    }
+
+    private static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        return column != null && !column.name().isEmpty() ? column.name() : snakeCase(field.getName());
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    private record TableColumn(String table, String column) {
+    }
+}
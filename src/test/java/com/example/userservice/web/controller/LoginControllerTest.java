@@ -1,7 +1,10 @@
 package com.example.userservice.web.controller;
 
+import com.example.userservice.app.ratelimit.RateLimitScope;
+import com.example.userservice.app.ratelimit.RateLimiter;
 import com.example.userservice.app.service.impl.LoginServiceImpl;
 import com.example.userservice.web.controller.exception.BadRequestException;
+import com.example.userservice.web.controller.exception.TooManyRequestsException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.dto.requests.LoginRequestDto;
 import com.example.userservice.web.dto.responses.LoginResponseDto;
@@ -17,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +35,9 @@ class LoginControllerTest {
     @MockBean
     private LoginServiceImpl loginService;
 
+    @MockBean
+    private RateLimiter rateLimiter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -76,4 +83,17 @@ class LoginControllerTest {
 
         Mockito.verify(loginService, Mockito.only()).login(Mockito.any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_whenRateLimitExceeded_thenReturnStatusTooManyRequests() throws Exception {
+        Mockito.doThrow(new TooManyRequestsException("Too many requests, try again later", 42))
+                .when(rateLimiter).acquire(RateLimitScope.LOGIN, "login");
+        mockMvc.perform(post(URL_LOGIN)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(loginRequestDto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"));
+
+        Mockito.verifyNoInteractions(loginService);
+    }
+}
@@ -3,9 +3,7 @@ package com.example.userservice.web.controller;
 import com.example.userservice.app.service.ClientService;
 import com.example.userservice.app.service.PassportDataService;
 import com.example.userservice.app.service.impl.ContactServiceImpl;
-import com.example.userservice.persistence.model.Client;
 import com.example.userservice.app.service.impl.UserProfileServiceImpl;
-import com.example.userservice.persistence.model.Contact;
 import com.example.userservice.persistence.model.UserProfile;
 import com.example.userservice.web.controller.exception.BadRequestException;
 import com.example.userservice.web.controller.exception.NotFoundException;
@@ -13,6 +11,7 @@ import com.example.userservice.web.dto.requests.AuthorizationTypeIncomingDto;
 import com.example.userservice.web.dto.requests.ClientDto;
 import com.example.userservice.web.dto.requests.EmailAndPassportDto;
 import com.example.userservice.web.dto.requests.EmailIncomingDto;
+import com.example.userservice.web.dto.requests.NotificationSettingsDto;
 import com.example.userservice.web.dto.requests.NotificationStatusDto;
 import com.example.userservice.web.dto.requests.PushNotificationsIncomingDto;
 import com.example.userservice.web.dto.requests.SecurityQuestionAnswerDto;
@@ -26,6 +25,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -33,11 +33,8 @@ import java.sql.SQLException;
 import java.util.UUID;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
@@ -47,6 +44,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -74,11 +73,11 @@ class UsersControllerMvcTest {
     private static String pincode = "pincode";
     private final static String URL_CHANGE_AUTHORIZATION_TYPE = "/api/v1/users/settings/login";
     private final static String URL_CHANGE_PUSH_NOTIFICATIONS = "/api/v1/users/settings/notification/push";
+    private final static String URL_CHANGE_NOTIFICATIONS = "/api/v1/users/settings/notifications";
 
     private UUID id;
     private EmailIncomingDto dto;
     private PushNotificationsIncomingDto notificationStatus;
-    private Contact contact;
     private EmailAndPassportDto emailAndPassportDto;
     private UserInfoDto userInfoDto;
 
@@ -141,7 +140,7 @@ class UsersControllerMvcTest {
                         .content(objectMapper.writeValueAsString(notificationStatus)))
                 .andExpect(status().isBadRequest());
 
-        verify(contactServiceImpl, never()).changePushNotifications(any(Contact.class), any(Boolean.class));
+        verify(contactServiceImpl, never()).changePushNotifications(any(UUID.class), any(Boolean.class));
     }
 
     @SneakyThrows
@@ -150,15 +149,14 @@ class UsersControllerMvcTest {
         id = UUID.randomUUID();
         notificationStatus = new PushNotificationsIncomingDto();
         notificationStatus.setNotificationStatus(true);
-        when(contactServiceImpl.findContactByClientId(any(UUID.class))).thenThrow(new NotFoundException("The contact profile does not exist"));
+        doThrow(new NotFoundException("The contact profile does not exist"))
+                .when(contactServiceImpl).changePushNotifications(id, true);
 
         mockMvc.perform(patch(URL_CHANGE_PUSH_NOTIFICATIONS)
                         .header("ClientId", String.valueOf(id))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(notificationStatus)))
                 .andExpect(status().isNotFound());
-
-        verify(contactServiceImpl, never()).changePushNotifications(any(Contact.class), any(Boolean.class));
     }
 
     @SneakyThrows
@@ -172,7 +170,7 @@ class UsersControllerMvcTest {
                         .content(objectMapper.writeValueAsString(notificationStatus)))
                 .andExpect(status().isMethodNotAllowed());
 
-        verify(contactServiceImpl, never()).changePushNotifications(any(Contact.class), any(Boolean.class));
+        verify(contactServiceImpl, never()).changePushNotifications(any(UUID.class), any(Boolean.class));
     }
 
     @SneakyThrows
@@ -181,10 +179,6 @@ class UsersControllerMvcTest {
         id = UUID.randomUUID();
         notificationStatus = new PushNotificationsIncomingDto();
         notificationStatus.setNotificationStatus(true);
-        contact = new Contact();
-        contact.setPushNotificationEnable(false);
-        when(contactServiceImpl.findContactByClientId(id)).thenReturn(contact);
-        doNothing().when(contactServiceImpl).changePushNotifications(contact, notificationStatus.getNotificationStatus());
 
         mockMvc.perform(patch(URL_CHANGE_PUSH_NOTIFICATIONS)
                         .header("ClientId", String.valueOf(id))
@@ -192,7 +186,7 @@ class UsersControllerMvcTest {
                         .content(objectMapper.writeValueAsString(notificationStatus)))
                 .andExpect(status().isOk());
 
-        verify(contactServiceImpl, times(1)).changePushNotifications(contact, notificationStatus.getNotificationStatus());
+        verify(contactServiceImpl, times(1)).changePushNotifications(id, notificationStatus.getNotificationStatus());
     }
 
     @SneakyThrows
@@ -244,15 +238,6 @@ class UsersControllerMvcTest {
     void changeNotification_whenAllParamsOk_thenReturnStatusOk() {
         UUID id = UUID.randomUUID();
         NotificationStatusDto dto = new NotificationStatusDto(true);
-        boolean expected = dto.getNotificationStatus();
-        Contact contact = Contact.builder()
-                .email(CORRECT_EMAIL_EXAMPLE)
-                .client(new Client())
-                .emailNotificationEnable(!expected)
-                .mobilePhone(CORRECT_MOBILE_PHONE_NUMBER)
-                .build();
-
-        when(contactServiceImpl.findContactByClientId(id)).thenReturn(contact);
 
         mockMvc.perform(patch(URL_CHANGE_NOTIFICATION_EMAIL)
                         .header("ClientId", String.valueOf(id))
@@ -260,57 +245,67 @@ class UsersControllerMvcTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk());
 
-        assertEquals(expected, contact.getEmailNotificationEnable());
-        verify(contactServiceImpl, atLeastOnce()).save(contact);
+        verify(contactServiceImpl, only()).changeEmailNotifications(id, true);
     }
 
     @SneakyThrows
     @Test
-    void changeNotification_whenContactEmailNull_thenReturnStatusBadRequest() {
+    void changeNotification_whenStatusCannotBeChanged_thenReturnStatusBadRequest() {
         UUID id = UUID.randomUUID();
         NotificationStatusDto dto = new NotificationStatusDto(true);
-        boolean expected = !dto.getNotificationStatus();
-        Contact contact = Contact.builder()
-                .email(null)
-                .client(new Client())
-                .emailNotificationEnable(expected)
-                .mobilePhone(CORRECT_MOBILE_PHONE_NUMBER)
-                .build();
-
-        when(contactServiceImpl.findContactByClientId(id)).thenReturn(contact);
+        doThrow(new BadRequestException("Can't change email notification"))
+                .when(contactServiceImpl).changeEmailNotifications(id, true);
 
         mockMvc.perform(patch(URL_CHANGE_NOTIFICATION_EMAIL)
                         .header("ClientId", String.valueOf(id))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isBadRequest());
-
-        assertEquals(expected, contact.getEmailNotificationEnable());
-        verify(contactServiceImpl, never()).save(contact);
     }
 
     @SneakyThrows
     @Test
-    void changeNotification_whenNotificationStatusAlreadyEnabled_thenReturnStatusBadRequest() {
+    void changeNotification_whenUserNotFound_thenReturnStatusNotFound() {
         UUID id = UUID.randomUUID();
         NotificationStatusDto dto = new NotificationStatusDto(true);
-        boolean expected = dto.getNotificationStatus();
-        Contact contact = Contact.builder()
-                .email(CORRECT_EMAIL_EXAMPLE)
-                .client(new Client())
-                .emailNotificationEnable(expected)
-                .mobilePhone(CORRECT_MOBILE_PHONE_NUMBER)
-                .build();
-
-        when(contactServiceImpl.findContactByClientId(id)).thenReturn(contact);
+        doThrow(new NotFoundException("User not found"))
+                .when(contactServiceImpl).changeEmailNotifications(id, true);
 
         mockMvc.perform(patch(URL_CHANGE_NOTIFICATION_EMAIL)
                         .header("ClientId", String.valueOf(id))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void changeNotifications_whenAllParamsOk_thenReturnStatusOk() {
+        UUID id = UUID.randomUUID();
+        NotificationSettingsDto dto = new NotificationSettingsDto(true, null, false);
+
+        mockMvc.perform(patch(URL_CHANGE_NOTIFICATIONS)
+                        .header("ClientId", String.valueOf(id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
 
-        verify(contactServiceImpl, never()).save(contact);
+        verify(contactServiceImpl, only()).changeNotifications(id, dto);
+    }
+
+    @SneakyThrows
+    @Test
+    void changeNotifications_whenContactNotFound_thenReturnStatusNotFound() {
+        UUID id = UUID.randomUUID();
+        NotificationSettingsDto dto = new NotificationSettingsDto(null, true, null);
+        doThrow(new NotFoundException("User not found"))
+                .when(contactServiceImpl).changeNotifications(id, dto);
+
+        mockMvc.perform(patch(URL_CHANGE_NOTIFICATIONS)
+                        .header("ClientId", String.valueOf(id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
     }
 
     @SneakyThrows
@@ -428,7 +423,35 @@ class UsersControllerMvcTest {
                 .andExpect(jsonPath("$.surname").value(userInfoDto.getSurname()))
                 .andExpect(jsonPath("$.passportNumber").value(userInfoDto.getPassportNumber()))
                 .andExpect(jsonPath("$.mobilePhone").value(userInfoDto.getMobilePhone()))
-                .andExpect(jsonPath("$.email").value(userInfoDto.getEmail()));
+                .andExpect(jsonPath("$.email").value(userInfoDto.getEmail()))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @SneakyThrows
+    void getUserInfoDto_whenETagMatches_thenNotModified() {
+        id = UUID.randomUUID();
+        userInfoDto = new UserInfoDto("Александр", "Македонский", "Степанович",
+                CORRECT_EMAIL_EXAMPLE, "89329995533", CORRECT_PASSPORT_NUMBER);
+        when(clientService.getUserInfoById(id)).thenReturn(userInfoDto);
+
+        String eTag = mockMvc.perform(get(URL_GET_USER_INFO)
+                        .header("ClientId", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(URL_GET_USER_INFO)
+                        .header("ClientId", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        userInfoDto.setEmail("new@mail.ru");
+        mockMvc.perform(get(URL_GET_USER_INFO)
+                        .header("ClientId", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("new@mail.ru"));
     }
 
     @Test
@@ -1,6 +1,9 @@
 package com.example.userservice.web.controller;
 
+import com.example.userservice.app.ratelimit.RateLimitScope;
+import com.example.userservice.app.ratelimit.RateLimiter;
 import com.example.userservice.app.service.impl.VerificationServiceImpl;
+import com.example.userservice.web.controller.exception.TooManyRequestsException;
 import com.example.userservice.web.controller.exception.UnprocessableEntityException;
 import com.example.userservice.web.dto.requests.VerifyByMobilePhoneAndVerificationCodeDTO;
 import com.example.userservice.web.dto.responses.*;
@@ -26,6 +29,9 @@ class VerificationControllerTest {
     @Mock
     private VerificationServiceImpl verificationService;
 
+    @Mock
+    private RateLimiter rateLimiter;
+
     @InjectMocks
     private VerificationController verificationController;
 
@@ -119,4 +125,15 @@ class VerificationControllerTest {
                 new VerifyByPassportNumberAndVerificationCodeDTO("23440123M", "234756"))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkVerifyByMobilePhoneWhenRateLimitExceeded() {
+        doThrow(TooManyRequestsException.class).when(rateLimiter)
+                .acquire(RateLimitScope.VERIFICATION_CHECK, "79370458234");
+
+        assertThrows(TooManyRequestsException.class, () -> verificationController.verifyByMobilePhoneAndVerificationCode(
+                new VerifyByMobilePhoneAndVerificationCodeDTO("79370458234", "234756"))
+        );
+        Mockito.verifyNoInteractions(verificationService);
+    }
+}
@@ -41,16 +41,18 @@ class RequestValidatorTest {
         String verificationCode = "123456";
 
         String verificationCodeWithSpaces = "1 2 3 4 5 6";
-        String verificationCodeWrongLength = "1234";
+        String verificationCodeOtherLength = "1234";
+        String verificationCodeTooLong = "1234567890123456789";
         String verificationCodeWithLetters = "I2345R";
 
         assertEquals(verificationCode, RequestValidator.verificationCodeValidate(verificationCode));
         assertEquals(verificationCode, RequestValidator.verificationCodeValidate(verificationCodeWithSpaces));
+        assertEquals(verificationCodeOtherLength, RequestValidator.verificationCodeValidate(verificationCodeOtherLength));
 
         assertThrows(ValidationException.class, () ->
                 RequestValidator.verificationCodeValidate(verificationCodeWithLetters));
         assertThrows(ValidationException.class, () ->
-                RequestValidator.verificationCodeValidate(verificationCodeWrongLength));
+                RequestValidator.verificationCodeValidate(verificationCodeTooLong));
     }
 
     @Test
@@ -85,7 +87,8 @@ class RequestValidatorTest {
                 () -> assertThrows(ValidationException.class, () -> RequestValidator.emailValidate(WITHOUT_AT_EMAIL)),
                 () -> assertThrows(ValidationException.class, () -> RequestValidator.emailValidate(INCORRECT_SHORT_EMAIL)),
                 () -> assertThrows(ValidationException.class, () -> RequestValidator.emailValidate(INCORRECT_SYMBOL_EMAIL)),
-                () -> assertEquals(CORRECT_EMAIL, RequestValidator.emailValidate(CORRECT_EMAIL))
+                () -> assertEquals(CORRECT_EMAIL, RequestValidator.emailValidate(CORRECT_EMAIL)),
+                () -> assertEquals(CORRECT_EMAIL, RequestValidator.emailValidate("Correct@Rambler.RU"))
         );
     }
 
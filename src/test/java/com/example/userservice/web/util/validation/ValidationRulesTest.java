@@ -0,0 +1,138 @@
+package com.example.userservice.web.util.validation;
+
+import com.example.userservice.web.util.annotation.Password;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static com.example.userservice.web.util.validation.EmailValidator.EMAIL_AFTER_AT_REGEX;
+import static com.example.userservice.web.util.validation.EmailValidator.EMAIL_REGEX_PATTERN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The scanners must accept exactly what the regular expressions they replaced accept,
+ * checked on hand-picked cases and on random strings over a small alphabet.
+ */
+class ValidationRulesTest {
+
+    private static final String PASSPORT_NUMBER_REGEX =
+            "([A-Z0-9]*\\d+[A-Z0-9]*(\s|-)?[A-Z0-9]+)|[A-Z]+(\s|-)?[A-Z0-9]*\\d+[A-Z0-9]*";
+
+    private static final String PHONE_NUMBER_REGEX = "\\+?7(\\d){10}";
+
+    private static final String PASSWORD_ALLOWED_SYMBOLS =
+            "[a-zA-Z0-9]+[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~a-zA-Z0-9]*";
+
+    private static final String[] PASSWORD_SYMBOLS_GROUP = {
+            ".*[a-z].*", ".*[A-Z].*", ".*[0-9].*", ".*[!\"#$%&'()*+,-./:;<=>?@\\[\\]^_`{|}~].*"};
+
+    private static final int SAMPLES = 50_000;
+
+    @Test
+    void isPassportNumber_whenComparedWithRegex_thenSameResult() {
+        assertTrue(ValidationRules.isPassportNumber("23440123M"));
+        assertTrue(ValidationRules.isPassportNumber("AB 1234567"));
+        assertTrue(ValidationRules.isPassportNumber("A1"));
+        assertFalse(ValidationRules.isPassportNumber("1"));
+        assertFalse(ValidationRules.isPassportNumber("AB-CD"));
+        assertFalse(ValidationRules.isPassportNumber("1939593943jsvnblkknmdkm"));
+
+        assertEquivalent(PASSPORT_NUMBER_REGEX, ValidationRules::isPassportNumber, "AZ09 -a_", 8);
+    }
+
+    @Test
+    void isPhoneNumber_whenComparedWithRegex_thenSameResult() {
+        assertTrue(ValidationRules.isPhoneNumber("+79370458234"));
+        assertTrue(ValidationRules.isPhoneNumber("79370458234"));
+        assertFalse(ValidationRules.isPhoneNumber("89370458234"));
+
+        assertEquivalent(PHONE_NUMBER_REGEX, ValidationRules::isPhoneNumber, "7777777890+a", 13);
+    }
+
+    @Test
+    void isDigits_whenComparedWithRegex_thenSameResult() {
+        assertEquivalent("\\d+", ValidationRules::isDigits, "0123456789 a", 4);
+        assertEquivalent("\\d{6}", value -> ValidationRules.isDigits(value, 6), "0123456789 a", 8);
+    }
+
+    @Test
+    void isPassword_whenComparedWithRegex_thenSameResult() {
+        assertTrue(ValidationRules.isPassword("Qwerty12"));
+        assertTrue(ValidationRules.isPassword("qwerty1!"));
+        assertFalse(ValidationRules.isPassword("qwerty12"));
+        assertFalse(ValidationRules.isPassword("Qwerty_12"));
+
+        assertEquivalent(Password.REGEX, ValidationRules::isPassword, "aZ1!_ \n", 22);
+    }
+
+    @Test
+    void passwordSymbolGroups_whenComparedWithRegex_thenSameResult() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String value = randomString(random, "aZ1!\\_ [", 10);
+            boolean allowed = value.matches(PASSWORD_ALLOWED_SYMBOLS);
+            assertEquals(allowed, ValidationRules.isPasswordAllowedSymbols(value), value);
+            if (allowed) {
+                int groups = 0;
+                for (String group : PASSWORD_SYMBOLS_GROUP) {
+                    groups += value.matches(group) ? 1 : 0;
+                }
+                assertEquals(groups, ValidationRules.countPasswordSymbolGroups(value), value);
+            }
+        }
+    }
+
+    @Test
+    void isEmail_whenComparedWithRegex_thenSameResult() {
+        assertTrue(ValidationRules.isEmail("t.andreeva@mail.ru"));
+        assertTrue(ValidationRules.isEmail("username@domain.co.in"));
+        assertFalse(ValidationRules.isEmail("admin@mail.ru"));
+        assertFalse(ValidationRules.isEmail("username.@domain.com"));
+        assertFalse(ValidationRules.isEmail("abcd@@host.ru"));
+
+        assertEquivalent(ValidationRulesTest::isEmailByRegex, ValidationRules::isEmail, "ab1._-@", 14);
+
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String email = randomString(random, "aA1._-@", 12) + "@" + randomString(random, "ab.-1", 12);
+            assertEquals(isEmailByRegex(email), ValidationRules.isEmail(email), email);
+        }
+    }
+
+    private static boolean isEmailByRegex(String email) {
+        if (!email.matches(EMAIL_REGEX_PATTERN)) {
+            return false;
+        }
+        String[] mas = email.split("@");
+        String afterAt = mas[1];
+        String beforeAt = mas[0];
+        return !beforeAt.equalsIgnoreCase("admin")
+                && afterAt.length() <= 19 && afterAt.length() >= 5
+                && afterAt.matches(EMAIL_AFTER_AT_REGEX);
+    }
+
+    private static void assertEquivalent(String regex, Predicate<String> scanner, String alphabet, int maxLength) {
+        assertEquivalent(value -> value.matches(regex), scanner, alphabet, maxLength);
+    }
+
+    private static void assertEquivalent(Predicate<String> reference, Predicate<String> scanner,
+                                         String alphabet, int maxLength) {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String value = randomString(random, alphabet, maxLength);
+            assertEquals(reference.test(value), scanner.test(value), value);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}